@@ -0,0 +1,41 @@
+package com.pi4j.catalog;
+
+import com.pi4j.Pi4J;
+import com.pi4j.context.Context;
+import com.pi4j.plugin.mock.platform.MockPlatform;
+import com.pi4j.plugin.mock.provider.gpio.analog.MockAnalogInputProvider;
+import com.pi4j.plugin.mock.provider.gpio.analog.MockAnalogOutputProvider;
+import com.pi4j.plugin.mock.provider.gpio.digital.MockDigitalInputProvider;
+import com.pi4j.plugin.mock.provider.gpio.digital.MockDigitalOutputProvider;
+import com.pi4j.plugin.mock.provider.i2c.MockI2CProvider;
+import com.pi4j.plugin.mock.provider.pwm.MockPwmProvider;
+import com.pi4j.plugin.mock.provider.serial.MockSerialProvider;
+import com.pi4j.plugin.mock.provider.spi.MockSpiProvider;
+
+/**
+ * Creates the Pi4J context for the benchmarks, using the same mock providers as {@link ComponentTest}.
+ * <p>
+ * The benchmarks measure the Java code of the components, not the hardware. Keep in mind that the mock providers
+ * have some overhead on their own.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static Context create() {
+        return Pi4J.newContextBuilder()
+            .add(new MockPlatform())
+            .add(
+                MockAnalogInputProvider.newInstance(),
+                MockAnalogOutputProvider.newInstance(),
+                MockSpiProvider.newInstance(),
+                MockPwmProvider.newInstance(),
+                MockSerialProvider.newInstance(),
+                MockI2CProvider.newInstance(),
+                MockDigitalInputProvider.newInstance(),
+                MockDigitalOutputProvider.newInstance()
+            )
+            .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.pi4j.catalog.components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pi4j.context.Context;
+import com.pi4j.plugin.mock.provider.i2c.MockI2C;
+
+import com.pi4j.catalog.BenchmarkContext;
+
+/**
+ * Handling a single sample of the continuous-conversion mode, from reading the conversion register to the value
+ * change handler.
+ * <p>
+ * The sampling path must not allocate, check {@code gc.alloc.rate.norm} of the gc profiler. It should be 0 B/op, as
+ * long as the mock provider doesn't allocate on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Ads1115Benchmark {
+
+    private static final int CONVERSION_REGISTER = 0x00;
+
+    /**
+     * conversion results, two bytes each, alternating around the threshold
+     */
+    private static final byte[] SAMPLES = {0x10, 0x00, 0x10, 0x01, 0x20, 0x00, 0x20, 0x01};
+
+    private Context pi4j;
+    private Ads1115 ads1115;
+    private MockI2C mockI2C;
+    private int sample;
+    private double sum;
+
+    @Setup
+    public void setUp() {
+        pi4j = BenchmarkContext.create();
+        ads1115 = new Ads1115(pi4j);
+        mockI2C = ads1115.mock();
+        ads1115.onValueChange(Ads1115.Channel.A0, (voltage) -> sum += voltage);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pi4j.shutdown();
+    }
+
+    @Benchmark
+    public double readConversion() {
+        mockI2C.writeRegister(CONVERSION_REGISTER, SAMPLES, (sample++ & 3) * 2, 2);
+        ads1115.readConversion(Ads1115.Channel.A0, 0.1);
+
+        return sum;
+    }
+}
@@ -0,0 +1,116 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pi4j.context.Context;
+import com.pi4j.plugin.mock.provider.i2c.MockI2C;
+
+import com.pi4j.catalog.BenchmarkContext;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
+import com.pi4j.catalog.components.helpers.SampleRingBuffer;
+
+/**
+ * One cycle of continuous reading, as run by the scheduler: reading all channels in use, recording the samples and
+ * calling the value change handlers.
+ * <p>
+ * A single channel is converted continuously and just read, several channels are converted one by one in single-shot
+ * mode. Most of the time is spent waiting for the conversions, so the throughput is limited by the data rate. The
+ * scan must not allocate, check {@code gc.alloc.rate.norm} of the gc profiler. It should be 0 B/op, as long as the
+ * mock provider doesn't allocate on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Ads1115ScanBenchmark {
+
+    private static final int CONVERSION_REGISTER = 0x00;
+    private static final int CONFIG_REGISTER = 0x01;
+
+    /**
+     * conversion results, two bytes each, alternating around the threshold
+     */
+    private static final byte[] SAMPLES = {0x10, 0x00, 0x10, 0x01, 0x20, 0x00, 0x20, 0x01};
+
+    private static final Ads1115.Channel[] CHANNELS = {Ads1115.Channel.A0_A1, Ads1115.Channel.A2, Ads1115.Channel.A3};
+
+    @Param({"1", "3"})
+    private int channels;
+
+    private Context pi4j;
+    private Ads1115 ads1115;
+    private MockI2C mockI2C;
+    private SampleRingBuffer buffer;
+    private final long[] nanoTimes = new long[16];
+    private final short[] rawValues = new short[16];
+    private final byte[] configWord = new byte[2];
+    private int sample;
+    private double sum;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        pi4j = BenchmarkContext.create();
+        ads1115 = new Ads1115(pi4j, Ads1115.ADDRESS.GND, Ads1115.GAIN.GAIN_4_096V, Ads1115.DataRate.SPS_860);
+        mockI2C = ads1115.mock();
+        for (int i = 0; i < channels; i++) {
+            ads1115.onValueChange(CHANNELS[i], (voltage) -> sum += voltage);
+        }
+        buffer = ads1115.recordSamples(CHANNELS[0], nanoTimes.length);
+
+        // the scheduler runs its first cycle right away and then idles, the benchmark runs the following cycles
+        for (int i = 0; i < channels; i++) {
+            mockI2C.writeRegister(CONVERSION_REGISTER, SAMPLES, 0, 2);
+        }
+        FixedRateScheduler scheduler = ads1115.startContinuousReading(0.1, Duration.ofHours(1));
+        while (scheduler.getCycles() == 0) {
+            Thread.sleep(1);
+        }
+        drainConfigRegister(channels);
+        buffer.drainTo(nanoTimes, rawValues, 0, nanoTimes.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ads1115.reset();
+        pi4j.shutdown();
+    }
+
+    @Benchmark
+    public double scanChannels() {
+        for (int i = 0; i < channels; i++) {
+            mockI2C.writeRegister(CONVERSION_REGISTER, SAMPLES, (sample++ & 3) * 2, 2);
+        }
+        ads1115.readAllChannels(0.1);
+        if (channels > 1) {
+            drainConfigRegister(channels);
+        }
+        buffer.drainTo(nanoTimes, rawValues, 0, nanoTimes.length);
+
+        return sum;
+    }
+
+    /**
+     * The mock keeps every config word written, one per single-shot conversion
+     */
+    private void drainConfigRegister(int writes) {
+        for (int i = 0; i < writes; i++) {
+            mockI2C.readRegister(CONFIG_REGISTER, configWord, 0, 2);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.pi4j.catalog.components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pi4j.context.Context;
+
+import com.pi4j.catalog.BenchmarkContext;
+
+/**
+ * Writing a text that wraps over all lines of a 4x20 LCD.
+ * <p>
+ * The result includes the delays the display needs after each command, so it shows how many texts per second
+ * a real display can take. Due to these delays, the data buffered by the mock I2C stays small and isn't drained.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LcdDisplayBenchmark {
+
+    private static final String TEXT = "Pi4J shows how fast a long text is wrapped and written to all lines of the LCD";
+
+    private Context pi4j;
+    private LcdDisplay lcd;
+
+    @Setup
+    public void setUp() {
+        pi4j = BenchmarkContext.create();
+        lcd  = new LcdDisplay(pi4j, 4, 20);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pi4j.shutdown();
+    }
+
+    @Benchmark
+    public void displayText() {
+        lcd.displayText(TEXT);
+    }
+}
@@ -0,0 +1,41 @@
+package com.pi4j.catalog.components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The color conversions used by the LED animations, no hardware involved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedColorBenchmark {
+
+    private float hue;
+
+    @Benchmark
+    public int createColorHSL() {
+        hue = (hue + 0.001f) % 1.0f;
+
+        return LedStrip.LedColor.createColorHSL(hue, 1.0f, 0.5f);
+    }
+
+    @Benchmark
+    public int wheel() {
+        hue = (hue + 0.001f) % 1.0f;
+
+        return LedStrip.LedColor.wheel((int) (hue * 255));
+    }
+}
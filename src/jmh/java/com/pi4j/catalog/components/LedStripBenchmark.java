@@ -0,0 +1,86 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pi4j.context.Context;
+import com.pi4j.plugin.mock.provider.spi.MockSpi;
+
+import com.pi4j.catalog.BenchmarkContext;
+
+/**
+ * Encoding and sending a frame to a WS2812 strip, the hot path of every LED animation.
+ * <p>
+ * The mock SPI buffers every byte sent, so it's drained in each invocation. That's part of the measured time, but
+ * the same for every version of {@link LedStrip}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedStripBenchmark {
+
+    @Param({"60", "300"})
+    private int numberOfLEDs;
+
+    @Param({"BYTE_PER_BIT", "THREE_BITS_PER_BIT"})
+    private LedStrip.Encoding encoding;
+
+    private Context pi4j;
+    private LedStrip strip;
+    private MockSpi spi;
+    private int frame;
+
+    @Setup
+    public void setUp() {
+        pi4j  = BenchmarkContext.create();
+        strip = new LedStrip(pi4j, numberOfLEDs, 1.0, 0, encoding);
+        spi   = strip.mock();
+        spi.readEntireMockBuffer();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pi4j.shutdown();
+    }
+
+    /**
+     * A new color for one pixel and rendering the whole strip, as in a typical animation
+     */
+    @Benchmark
+    public byte[] render() {
+        frame++;
+        strip.setPixelColor(frame % numberOfLEDs, LedStrip.LedColor.wheel(frame & 0xFF));
+        strip.render(Duration.ZERO);
+
+        return spi.readEntireMockBuffer();
+    }
+
+    /**
+     * Setting all pixels one by one, without rendering
+     */
+    @Benchmark
+    public LedStrip setPixelColors() {
+        frame++;
+        for (int i = 0; i < numberOfLEDs; i++) {
+            strip.setPixelColor(i, LedStrip.LedColor.wheel((i + frame) & 0xFF));
+        }
+
+        return strip;
+    }
+}
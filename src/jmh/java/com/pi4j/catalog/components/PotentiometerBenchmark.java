@@ -0,0 +1,66 @@
+package com.pi4j.catalog.components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pi4j.context.Context;
+
+import com.pi4j.catalog.BenchmarkContext;
+
+/**
+ * Normalizing the voltages of a potentiometer.
+ * <p>
+ * The conversion time of the ADC is left out, the voltages are taken from a table instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PotentiometerBenchmark {
+
+    private static final double[] VOLTAGES = {0.0, 0.4, 1.1, 1.65, 2.2, 2.9, 3.3, 1.7};
+
+    @Param({"ZERO_TO_ONE", "MINUS_ONE_TO_ONE"})
+    private Potentiometer.Range range;
+
+    private Context pi4j;
+    private Potentiometer potentiometer;
+
+    @Setup
+    public void setUp() {
+        pi4j = BenchmarkContext.create();
+        Ads1115 ads1115 = new Ads1115(pi4j) {
+            private int sample;
+
+            @Override
+            public double readValue(Channel channel) {
+                return VOLTAGES[sample++ & 7];
+            }
+        };
+        potentiometer = new Potentiometer(ads1115, Ads1115.Channel.A0, range);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pi4j.shutdown();
+    }
+
+    @Benchmark
+    public double readNormalizedValue() {
+        return potentiometer.readNormalizedValue();
+    }
+}
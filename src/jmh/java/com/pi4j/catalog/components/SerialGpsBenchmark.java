@@ -0,0 +1,61 @@
+package com.pi4j.catalog.components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.pi4j.context.Context;
+
+import com.pi4j.catalog.BenchmarkContext;
+
+/**
+ * Parsing the NMEA sentences delivered by the serial reader, without the serial port itself.
+ * <p>
+ * The positions alternate, so every sentence results in a reported position and altitude.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerialGpsBenchmark {
+
+    private static final String[] SENTENCES = {
+            "$GPGGA,123519,4807.038,N,01131.000,E,1,08,0.9,545.4,M,46.9,M,,*47",
+            "$GPGLL,4916.45,N,12311.12,W,225444,A,*1D",
+            "$GPGGA,123520,4807.538,N,01131.500,E,1,08,0.9,555.4,M,46.9,M,,*47",
+            "$GPGLL,4916.95,N,12311.62,W,225445,A,*1D"
+    };
+
+    private Context pi4j;
+    private SerialGps gps;
+    private int line;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        pi4j = BenchmarkContext.create();
+        gps  = new SerialGps(pi4j, blackhole::consume, blackhole::consume);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pi4j.shutdown();
+    }
+
+    @Benchmark
+    public void handleNewData() {
+        gps.handleNewData(SENTENCES[line++ & 3]);
+    }
+}
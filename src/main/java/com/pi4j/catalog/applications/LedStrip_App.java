@@ -6,6 +6,7 @@ import com.pi4j.context.Context;
 
 import com.pi4j.catalog.Application;
 import com.pi4j.catalog.components.LedStrip;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
 
 /**
  * This example shows how to use the LEDStrip component by setting the LEDs on the strip to different colors.
@@ -57,6 +58,17 @@ public class LedStrip_App implements Application {
         }
         delay(ms500);
 
+        System.out.println("rainbow animation with 30 frames per second");
+        int[] rainbow = new int[leds];
+        for (int i = 0; i < leds; i++) {
+            rainbow[i] = LedStrip.LedColor.wheel(i * 256 / leds);
+        }
+        ledStrip.setPixelColors(0, rainbow);
+        FixedRateScheduler animation = ledStrip.animate(30, (frame) -> ledStrip.rotate(1));
+        delay(Duration.ofSeconds(5));
+        ledStrip.stopAnimation();
+        System.out.printf("animation ran at %.1f fps, %d frames dropped%n", animation.getMeasuredRate(), animation.getDroppedCycles());
+
         System.out.println("setting the brightness to full and show the first LED as white");
         ledStrip.allOff();
         ledStrip.setMaxBrightness(1);
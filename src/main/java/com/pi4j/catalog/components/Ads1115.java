@@ -1,14 +1,21 @@
 package com.pi4j.catalog.components;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Consumer;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleConsumer;
 
 import com.pi4j.context.Context;
+import com.pi4j.io.gpio.digital.DigitalInput;
+import com.pi4j.io.gpio.digital.DigitalState;
+import com.pi4j.io.gpio.digital.PullResistance;
 import com.pi4j.io.i2c.I2C;
+import com.pi4j.plugin.mock.provider.gpio.digital.MockDigitalInput;
 
 import com.pi4j.catalog.components.base.I2CDevice;
+import com.pi4j.catalog.components.base.PIN;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
+import com.pi4j.catalog.components.helpers.SampleRingBuffer;
 
 public class Ads1115 extends I2CDevice {
     /**
@@ -28,31 +35,116 @@ public class Ads1115 extends I2CDevice {
      */
     private static final int HI_THRESH_REGISTER = 0x03;
 
+    private static final Channel[] CHANNELS = Channel.values();
+
+    /**
+     * old value of a channel not read yet, far away from any valid value
+     */
+    private static final double NO_VOLTAGE = -10.0;
+    private static final double DEFAULT_MIN_RAW_VALUE = 0.1;
+    private static final double DEFAULT_MAX_RAW_VALUE = 3.2;
+
     private final Context pi4j;
     /**
-     * programmable gain amplifier
+     * programmable gain amplifier of each channel, indexed by ordinal
+     */
+    private final GAIN[] gains = new GAIN[CHANNELS.length];
+    /**
+     * sampling rate of each channel, indexed by ordinal
+     */
+    private final DataRate[] dataRates = new DataRate[CHANNELS.length];
+
+    /**
+     * derived from gain and data rate: config register of each channel without operation mode, voltage per bit of
+     * the conversion result and time to wait for a single conversion
+     */
+    private final int[] configWords = new int[CHANNELS.length];
+    private final double[] voltsPerBit = new double[CHANNELS.length];
+    private final long[] conversionWaitNanos = new long[CHANNELS.length];
+
+    /**
+     * Handlers, buffers and scan schedule of the channels in use. Replaced as a whole on each change, so channels can
+     * be added and removed while the reading thread keeps going.
+     */
+    private volatile ChannelTable channelTable = new ChannelTable(new DoubleConsumer[CHANNELS.length],
+            new SampleRingBuffer[CHANNELS.length], new int[CHANNELS.length]);
+
+    /**
+     * State of each channel, indexed by ordinal, only used by the reading thread. Primitive arrays, so no value is
+     * boxed while sampling.
+     * <p>
+     * old values from last successful read of conversion register (raw data) and the version of the handler they
+     * have been sent to
      */
-    private final Ads1115.GAIN pga;
+    private final double[] oldVoltages = new double[CHANNELS.length];
+    private final int[] notifiedVersions = new int[CHANNELS.length];
+
+    /**
+     * range of the values measured so far
+     */
+    private final double[] minRawValues = new double[CHANNELS.length];
+    private final double[] maxRawValues = new double[CHANNELS.length];
+
     /**
-     * sampling rate of device
+     * how to wait for the result of a single conversion
      */
-    private final DataRate dataRate;
+    private volatile Acquisition acquisition = Acquisition.FIXED_DELAY;
 
     /**
-     * old values from last successful read of conversion register (raw data)
+     * statistics of {@link Acquisition#POLL_READY}
      */
-    private final Map<Channel, Double> oldVoltages = new HashMap<>();
+    private volatile long polledConversions;
+    private volatile long savedLatencyNanos;
 
-    private final Map<Channel, Consumer<Double>> channelsInUse = new HashMap<>();
+    /**
+     * GPIO connected to the ALERT/RDY pin of the device, null if not connected
+     */
+    private DigitalInput alertReadyInput;
+    /**
+     * set on each conversion-ready signal, the thread waiting for a single conversion is woken up
+     */
+    private volatile boolean conversionReady;
+    private volatile Thread awaitingConversion;
+
+    /**
+     * reads all channels in use periodically, null if continuous reading is not active
+     */
+    private volatile FixedRateScheduler sampler;
+
+    /**
+     * true if the period of the sampler is adapted to the channels in use, see {@link #startContinuousReading(double)}
+     */
+    private boolean periodFollowsChannels;
+
+    /**
+     * channel converted continuously by the device itself, null if the device is in single-shot mode
+     */
+    private volatile Channel conversionChannel;
+
+    /**
+     * config register as written last, to skip writing the same mux setting again in continuous-conversion mode.
+     * Negative if unknown.
+     */
+    private volatile int deviceConfig = -1;
+
+    /**
+     * what to do on a signal of the ALERT/RDY pin while converting continuously, null to wake up the thread waiting
+     * for a single conversion
+     */
+    private volatile Runnable onAlert;
+    private volatile boolean alertSinceWatchdog;
 
-    private final Map<Channel, RawValueRange> valueRanges = new HashMap<>();
+    /**
+     * true if the thresholds are used for the window comparator instead of the conversion-ready signal
+     */
+    private boolean windowComparatorActive;
 
-    private boolean continuousReadingActive;
+    private final Object conversionLock = new Object();
 
     /**
      * Config register default configuration
      */
-    private final int configRegisterTemplate;
+    private int configRegisterTemplate;
 
 
     public Ads1115(Context pi4j){
@@ -66,19 +158,36 @@ public class Ads1115 extends I2CDevice {
      * @param gain    Custom gain amplifier
      */
     public Ads1115(Context pi4j, ADDRESS device, GAIN gain){
+        this(pi4j, device, gain, DataRate.SPS_128);
+    }
+
+    /**
+     *
+     * Creates a new custom AD converter. Gain and data rate can be changed for each channel afterwards, see
+     * {@link #configureChannel(Channel, GAIN, DataRate)}.
+     *
+     * @param pi4j     Pi4J context
+     * @param gain     Custom gain amplifier, used for all channels
+     * @param dataRate Custom sampling rate, used for all channels
+     */
+    public Ads1115(Context pi4j, ADDRESS device, GAIN gain, DataRate dataRate){
         super(pi4j, device.address, "ADS1115");
         this.pi4j = pi4j;
 
-        this.pga = gain;
-        this.dataRate = DataRate.SPS_128;
-
         int operationalStatus = OperationalStatus.WRITE_START.getOperationalStatus();
         int compMode          = COMP_MODE.TRAD_COMP.getCompMode();
         int compPol           = COMP_POL.ACTIVE_LOW.getCompPol();
         int latching          = COMP_LAT.NON_LATCH.getLatching();
         int compQue           = COMP_QUE.DISABLE_COMP.getCompQue();
 
-        this.configRegisterTemplate = operationalStatus | pga.gain | dataRate.getConf() | compMode | compPol | latching | compQue;
+        this.configRegisterTemplate = operationalStatus | compMode | compPol | latching | compQue;
+
+        for (Channel channel : CHANNELS) {
+            setChannelConfig(channel, gain, dataRate);
+        }
+        Arrays.fill(oldVoltages, NO_VOLTAGE);
+        Arrays.fill(minRawValues, DEFAULT_MIN_RAW_VALUE);
+        Arrays.fill(maxRawValues, DEFAULT_MAX_RAW_VALUE);
     }
 
     Context getPi4j() {
@@ -90,23 +199,205 @@ public class Ads1115 extends I2CDevice {
         //nothing to init
     }
 
-    public void onValueChange(Channel channel, Consumer<Double> onChange) {
-        if (onChange != null) {
-            if (continuousReadingActive) {
-                throw new IllegalStateException("Can't add a new onValueChange while continuous reading is active");
+    /**
+     * Sets or disables the handler of a channel. Can be called at any time, a running continuous reading picks up the
+     * change with its next cycle. The next value read is sent to a new handler in any case.
+     *
+     * @param channel  the channel
+     * @param onChange handler to call with the new voltage or null to disable
+     */
+    public synchronized void onValueChange(Channel channel, DoubleConsumer onChange) {
+        setChannelTable(channelTable.withHandler(channel, onChange));
+    }
+
+    /**
+     * Records all samples of the channel in a ring buffer, in addition to the onValueChange handler. The channel is
+     * read by continuous reading even without a handler then.
+     * <p>
+     * The buffer is written by the thread reading the channel, and never blocks it. A single consumer can read the
+     * samples in batches at its own pace, e.g. to log them. If the consumer is too slow, samples are lost and counted
+     * as overflows of the buffer. Use {@link #rawToVoltage(Channel, short)} to convert the samples.
+     *
+     * @param channel  the channel to record
+     * @param capacity number of samples the buffer can hold, rounded up to the next power of two
+     * @return the buffer
+     */
+    public synchronized SampleRingBuffer recordSamples(Channel channel, int capacity) {
+        SampleRingBuffer buffer = new SampleRingBuffer(capacity);
+        setChannelTable(channelTable.withBuffer(channel, buffer));
+
+        return buffer;
+    }
+
+    /**
+     * Stops recording the samples of the channel
+     */
+    public synchronized void stopRecordingSamples(Channel channel) {
+        setChannelTable(channelTable.withBuffer(channel, null));
+    }
+
+    /**
+     * Converts a raw sample, e.g. from the buffer of {@link #recordSamples(Channel, int)}, according to the gain of
+     * the channel
+     *
+     * @param channel  the channel the sample is from
+     * @param rawValue the content of the conversion register
+     * @return the voltage
+     */
+    public double rawToVoltage(Channel channel, short rawValue) {
+        return voltsPerBit[channel.ordinal()] * rawValue;
+    }
+
+    /**
+     * Sets gain and data rate of a single channel, e.g. a fast data rate for a joystick and a slow one with less noise
+     * for a temperature sensor. The channels keep their configuration in all reading modes.
+     *
+     * @param channel  the channel to configure
+     * @param gain     gain amplifier of the channel, defines its voltage range
+     * @param dataRate sampling rate of the channel
+     */
+    public synchronized void configureChannel(Channel channel, GAIN gain, DataRate dataRate) {
+        if (isContinuousReadingActive()) {
+            throw new IllegalStateException("Can't configure a channel while continuous reading is active");
+        }
+        setChannelConfig(channel, gain, dataRate);
+    }
+
+    private void setChannelConfig(Channel channel, GAIN gain, DataRate dataRate) {
+        if (dataRate.getSpS() == 0) {
+            throw new IllegalArgumentException("Not a data rate: " + dataRate);
+        }
+        int i = channel.ordinal();
+        gains[i]     = gain;
+        dataRates[i] = dataRate;
+
+        configWords[i]         = configRegisterTemplate | gain.gain | dataRate.getConf() | channel.mux.getMux();
+        voltsPerBit[i]         = gain.gainPerBit;
+        //delay time is reciprocal of 1/2 of sampling time
+        conversionWaitNanos[i] = 2_000_000_000L / dataRate.getSpS();
+    }
+
+    /**
+     * Sets how to wait for the result of a single conversion, used by {@link #readValue(Channel)} and
+     * {@link #startContinuousReading(double)}. {@link Acquisition#ALERT_READY} also changes how
+     * {@link #startContinuousConversion(Channel, double)} works.
+     *
+     * @param acquisition the new acquisition mode
+     */
+    public void setAcquisition(Acquisition acquisition) {
+        if (acquisition == Acquisition.ALERT_READY && alertReadyInput == null) {
+            throw new IllegalStateException("ALERT/RDY pin isn't connected, see useAlertReadyPin");
+        }
+        this.acquisition = acquisition;
+    }
+
+    /**
+     * Uses the ALERT/RDY pin of the device as conversion-ready signal and switches to {@link Acquisition#ALERT_READY}.
+     * <p>
+     * The device then signals each finished conversion by pulling the pin low. Instead of sleeping or polling the bus
+     * the result is read as soon as the signal is received. The pin is open-drain, the internal pull-up of the GPIO is
+     * used.
+     *
+     * @param pin GPIO connected to ALERT/RDY
+     */
+    public synchronized void useAlertReadyPin(PIN pin) {
+        if (isContinuousReadingActive()) {
+            throw new IllegalStateException("Can't change the ALERT/RDY pin while continuous reading is active");
+        }
+        if (alertReadyInput != null) {
+            throw new IllegalStateException("ALERT/RDY pin already connected");
+        }
+        // in continuous-conversion mode the ready signal is a pulse of just 8µs, so no debouncing
+        alertReadyInput = pi4j.create(DigitalInput.newConfigBuilder(pi4j)
+                .id("BCM" + pin)
+                .name("ADS1115 ALERT/RDY #" + pin)
+                .address(pin.getPin())
+                .debounce(0L)
+                .pull(PullResistance.PULL_UP)
+                .build());
+        alertReadyInput.addListener(event -> {
+            if (event.state() == DigitalState.LOW) {
+                onConversionReady();
             }
-            channelsInUse.put(channel, onChange);
-        } else {
-            channelsInUse.remove(channel);
+        });
+
+        writeConversionReadyThresholds();
+        setComparatorQueue(COMP_QUE.ASSERT_ONE);
+
+        acquisition = Acquisition.ALERT_READY;
+        logDebug("ALERT/RDY connected to %s", pin);
+    }
+
+    /**
+     * The comparator signals conversion-ready if the MSB of hi_thresh is 1 and the one of lo_thresh is 0
+     */
+    private void writeConversionReadyThresholds() {
+        writeRegister(HI_THRESH_REGISTER, 0x8000);
+        writeRegister(LO_THRESH_REGISTER, 0x0000);
+    }
+
+    /**
+     * Disables the comparator, so the device doesn't drive ALERT/RDY anymore, and releases the GPIO.
+     * Switches back to {@link Acquisition#FIXED_DELAY}.
+     */
+    private synchronized void releaseAlertReadyPin() {
+        if (alertReadyInput == null) {
+            return;
         }
+        setComparatorQueue(COMP_QUE.DISABLE_COMP);
+        //power-on defaults of the thresholds
+        writeRegister(HI_THRESH_REGISTER, 0x7FFF);
+        writeRegister(LO_THRESH_REGISTER, 0x8000);
+        int noConversion = OperationalStatus.CLR_CURRENT_CONF_PARAM.getOperationalStatus();
+        writeConfig(configWords[Channel.A0.ordinal()] & noConversion | OperationMode.SINGLE.getMode());
+
+        pi4j.shutdown(alertReadyInput.id());
+        alertReadyInput = null;
+        acquisition = Acquisition.FIXED_DELAY;
+        logDebug("ALERT/RDY released");
+    }
+
+    private void setComparatorQueue(COMP_QUE compQue) {
+        configRegisterTemplate = configRegisterTemplate & COMP_QUE.CLR_CURRENT_CONF_PARAM.getCompQue() | compQue.getCompQue();
+        for (Channel channel : CHANNELS) {
+            setChannelConfig(channel, gains[channel.ordinal()], dataRates[channel.ordinal()]);
+        }
+    }
+
+    public Acquisition getAcquisition() {
+        return acquisition;
+    }
+
+    /**
+     * @return number of conversions acquired by {@link Acquisition#POLL_READY}
+     */
+    public long getPolledConversions() {
+        return polledConversions;
+    }
+
+    /**
+     * @return how much sooner than with {@link Acquisition#FIXED_DELAY} the conversions were read on average, zero if
+     * no conversion has been polled yet
+     */
+    public Duration getAverageSavedLatency() {
+        long conversions = polledConversions;
+        return conversions == 0 ? Duration.ZERO : Duration.ofNanos(savedLatencyNanos / conversions);
+    }
+
+    public GAIN getGain(Channel channel) {
+        return gains[channel.ordinal()];
+    }
+
+    public DataRate getDataRate(Channel channel) {
+        return dataRates[channel.ordinal()];
     }
 
     public double maxRawValue(Channel channel){
-        return getRange(channel).maxRawValue;
+        return maxRawValues[channel.ordinal()];
     }
 
     public double minRawValue(Channel channel){
-        return getRange(channel).minRawValue;
+        return minRawValues[channel.ordinal()];
     }
 
     /**
@@ -115,7 +406,7 @@ public class Ads1115 extends I2CDevice {
      * @return double voltage
      */
     public double readValue(Channel channel) {
-        if (continuousReadingActive) {
+        if (isContinuousReadingActive()) {
             throw new IllegalStateException("Continuous measuring active, can't read a single value");
         }
 
@@ -137,49 +428,232 @@ public class Ads1115 extends I2CDevice {
      * (the delay of the bus is not included).
      * <p>
      * This leads to the following table for the maximum allowed readFrequency by a sampling rate of 128 sps:
-     * 1 channels in use -> readFrequency max 64Hz (min. response time = 16ms)
+     * 1 channels in use -> readFrequency max 128Hz (min. response time = 8ms), converted continuously
      * 2 channels in use -> readFrequency max 32Hz (min. response time = 32ms)
      * 3 channels in use -> readFrequency max 21Hz (min. response time = 48ms)
      * 4 channels in use -> readFrequency max 16Hz (min. response time = 63ms)
+     * <p>
+     * The channels are read at the highest possible frequency, see {@link #startContinuousReading(double, Duration)}
+     * to use a slower one. If channels are added or removed while reading, the period of the scheduler is adapted.
      *
      * @param threshold  threshold for triggering value change event (+- voltage)
+     * @return the scheduler reading the channels, provides statistics about the sampling rate
+     */
+    public synchronized FixedRateScheduler startContinuousReading(double threshold) {
+        FixedRateScheduler scheduler = startContinuousReading(threshold, minReadPeriod(channelTable));
+        periodFollowsChannels = true;
+
+        return scheduler;
+    }
+
+    /**
+     * Start continuous reading with the given period. All channels in use are read once per period.
+     * <p>
+     * The cycles are scheduled on fixed deadlines, so the sampling rate doesn't drift. Use the returned scheduler to
+     * check how steady it is: its cycle time shows how long reading all channels takes, its jitter how late the
+     * cycles start and its late and dropped cycles count the overruns. If the period is shorter than
+     * the time needed to read all channels, the channels are read as fast as possible.
+     * <p>
+     * The period stays fixed if channels are added while reading. Make sure it's long enough for all channels that
+     * will be in use, otherwise every cycle overruns.
+     *
+     * @param threshold threshold for triggering value change event (+- voltage)
+     * @param period    time between the start of two readings of all channels
+     * @return the scheduler reading the channels, provides statistics about the sampling rate
+     */
+    public synchronized FixedRateScheduler startContinuousReading(double threshold, Duration period) {
+        if (isContinuousReadingActive()) {
+            throw new IllegalStateException("continuous reading already active");
+        }
+        FixedRateScheduler scheduler = new FixedRateScheduler("Ads1115Reader", period, (cycle) -> readAllChannels(threshold));
+        sampler = scheduler;
+        scheduler.start();
+
+        logDebug("Start continuous reading");
+
+        return scheduler;
+    }
+
+    /**
+     * Start continuous reading of a single channel in the continuous-conversion mode of the device. The device is
+     * configured once and converts the channel continuously at its data rate. Then only the latest conversion result
+     * is read, once per conversion time.
+     * <p>
+     * In contrast to {@link #startContinuousReading(double)} no config register write and no waiting is needed per
+     * reading, so the channel is sampled at the full data rate of the device instead of half of it.
+     * <p>
+     * The internal oscillator of the device is not synchronized with the Raspberry Pi. Thus, a conversion result might
+     * occasionally be read twice or be missed. That's not the case with {@link Acquisition#ALERT_READY}, each result is
+     * read on its conversion-ready signal. The returned scheduler is then just a watchdog, reading the channel at 1/8 of
+     * the data rate if no signal has been received in the meantime.
+     *
+     * @param channel   the channel to read, its onValueChange handler is called
+     * @param threshold threshold for triggering value change event (+- voltage)
+     * @return the scheduler reading the channel, provides statistics about the sampling rate
      */
-    public void startContinuousReading(double threshold) {
-        if (continuousReadingActive) {
+    public synchronized FixedRateScheduler startContinuousConversion(Channel channel, double threshold) {
+        if (isContinuousReadingActive()) {
             throw new IllegalStateException("continuous reading already active");
+        }
+        writeConfig(configWords[channel.ordinal()] | OperationMode.CONTINUOUS.getMode());
+        conversionChannel = channel;
+
+        FixedRateScheduler scheduler;
+        if (acquisition == Acquisition.ALERT_READY) {
+            // the results are read on the conversion-ready signal, the scheduler is just a watchdog for lost signals
+            onAlert = () -> {
+                alertSinceWatchdog = true;
+                readConversion(channel, threshold);
+            };
+            scheduler = new FixedRateScheduler("Ads1115Watchdog", getDataRate(channel).getSpS() / 8.0, (cycle) -> {
+                if (cycle > 0 && !alertSinceWatchdog) {
+                    readConversion(channel, threshold);
+                }
+                alertSinceWatchdog = false;
+            });
         } else {
-            //set fast continuous reading active to lock slow continuous reading
-            continuousReadingActive = true;
+            // the first conversion is ready after one conversion time, that's when the first cycle is started
+            scheduler = new FixedRateScheduler("Ads1115Reader", getDataRate(channel).getSpS(), (cycle) -> {
+                if (cycle > 0) {
+                    readConversion(channel, threshold);
+                }
+            });
+        }
+        sampler = scheduler;
+        scheduler.start();
 
-            readAllChannels(threshold);
+        logDebug("Start continuous conversion of channel %s", channel);
 
-            logDebug("Start continuous reading");
+        return scheduler;
+    }
+
+    /**
+     * Start monitoring a single channel with the window comparator of the device. The device converts the channel
+     * continuously and compares each result with the window itself. The onValueChange handler of the channel is called
+     * with values outside the window only.
+     * <p>
+     * If the ALERT/RDY pin is connected (see {@link #useAlertReadyPin(PIN)}) the device signals values outside the
+     * window, and the channel is read on that signal only. Additionally, the channel is read by a watchdog at the given
+     * period. Without the pin that's the only reading, so choose the period according to the needed response time.
+     * <p>
+     * A latching comparator keeps the signal until the conversion result is read. Otherwise, the signal is cleared as
+     * soon as a value is inside the window again.
+     *
+     * @param channel        the channel to monitor, its onValueChange handler is called
+     * @param lowVoltage     lower limit of the window
+     * @param highVoltage    upper limit of the window
+     * @param queue          number of successive values outside the window needed to signal them
+     * @param latching       if the signal is latched until the conversion result is read
+     * @param watchdogPeriod time between two readings independent of the comparator
+     * @return the scheduler of the watchdog
+     */
+    public synchronized FixedRateScheduler startWindowComparator(Channel channel, double lowVoltage, double highVoltage,
+                                                                 COMP_QUE queue, COMP_LAT latching, Duration watchdogPeriod) {
+        if (isContinuousReadingActive()) {
+            throw new IllegalStateException("continuous reading already active");
+        }
+        if (queue != COMP_QUE.ASSERT_ONE && queue != COMP_QUE.ASSERT_TWO && queue != COMP_QUE.ASSERT_FOUR) {
+            throw new IllegalArgumentException("Comparator queue must assert after one, two or four conversions");
+        }
+        if (latching != COMP_LAT.NON_LATCH && latching != COMP_LAT.DO_LATCH) {
+            throw new IllegalArgumentException("Not a latching mode: " + latching);
+        }
+        if (lowVoltage >= highVoltage) {
+            throw new IllegalArgumentException("Lower limit of the window must be below the upper one");
+        }
+        writeRegister(LO_THRESH_REGISTER, toRegisteredValue(channel, lowVoltage));
+        writeRegister(HI_THRESH_REGISTER, toRegisteredValue(channel, highVoltage));
+        windowComparatorActive = true;
+
+        int comparatorConfig = configWords[channel.ordinal()]
+                & COMP_MODE.CLR_CURRENT_CONF_PARAM.getCompMode()
+                & COMP_LAT.CLR_CURRENT_CONF_PARAM.getLatching()
+                & COMP_QUE.CLR_CURRENT_CONF_PARAM.getCompQue()
+                | COMP_MODE.WINDOW_COMP.getCompMode() | latching.getLatching() | queue.getCompQue();
+        writeConfig(comparatorConfig | OperationMode.CONTINUOUS.getMode());
+        conversionChannel = channel;
+
+        if (alertReadyInput != null) {
+            onAlert = () -> readWindow(channel, lowVoltage, highVoltage);
         }
+        // the watchdog can't know if the device would have signaled, so it checks the window itself
+        FixedRateScheduler scheduler = new FixedRateScheduler("Ads1115Watchdog", watchdogPeriod, (cycle) -> {
+            if (cycle > 0) {
+                readWindow(channel, lowVoltage, highVoltage);
+            }
+        });
+        sampler = scheduler;
+        scheduler.start();
+
+        logDebug("Start window comparator of channel %s, window %.3f V - %.3f V", channel, lowVoltage, highVoltage);
+
+        return scheduler;
     }
 
     /**
-     * stops continuous reading
+     * stops continuous reading. A reading in progress is finished first.
      */
     public void stopContinuousReading() {
-         continuousReadingActive = false;
+        FixedRateScheduler scheduler;
+        synchronized (this) {
+            scheduler = sampler;
+            sampler = null;
+            onAlert = null;
+            periodFollowsChannels = false;
+        }
+        if (scheduler != null) {
+            scheduler.stop();
+            powerDown();
+            logDebug("Continuous reading stopped");
+        }
+    }
+
+    /**
+     * Ends the continuous-conversion mode of the device, if active
+     */
+    private synchronized void powerDown() {
+        endContinuousConversion();
+        if (windowComparatorActive) {
+            windowComparatorActive = false;
+            if (alertReadyInput != null) {
+                writeConversionReadyThresholds();
+            }
+        }
+    }
 
-        logDebug("Continuous reading stopped");
+    public boolean isContinuousReadingActive() {
+        return sampler != null;
     }
 
     /**
-     * disables all handlers
+     * disables all handlers and releases the ALERT/RDY pin
      */
     @Override
     public void reset() {
         stopContinuousReading();
-        delay(Duration.ofMillis(channelsInUse.size() * 16L));
-        channelsInUse.clear();
-        oldVoltages.clear();
+        for (Channel channel : CHANNELS) {
+            resetChannel(channel);
+        }
+        releaseAlertReadyPin();
+    }
+
+    /**
+     * disables handler and recording of the channel, can be called while continuous reading is active
+     */
+    public synchronized void resetChannel(Channel channel){
+        setChannelTable(channelTable.withHandler(channel, null).withBuffer(channel, null));
     }
 
-    public void resetChannel(Channel channel){
-        channelsInUse.remove(channel);
-        oldVoltages.remove(channel);
+    /**
+     * Replaces the channel table. If continuous reading runs with the default period, the period is adapted to the new
+     * channels in use.
+     */
+    private void setChannelTable(ChannelTable table) {
+        channelTable = table;
+        FixedRateScheduler scheduler = sampler;
+        if (scheduler != null && periodFollowsChannels) {
+            scheduler.setPeriod(minReadPeriod(table));
+        }
     }
 
     /**
@@ -188,87 +662,392 @@ public class Ads1115 extends I2CDevice {
      * @return value from conversion register
      */
     private double readSingleValue(Channel channel) {
-        MultiplexerConfig mpc = switch (channel) {
-            case A0 -> MultiplexerConfig.AIN0_GND;
-            case A1 -> MultiplexerConfig.AIN1_GND;
-            case A2 -> MultiplexerConfig.AIN2_GND;
-            case A3 -> MultiplexerConfig.AIN3_GND;
-        };
-
+        //the scan switched from a single channel to several ones
+        endContinuousConversion();
+        conversionReady = false;
         //which channel should be available in ConfigRegister
-        writeRegister(CONFIG_REGISTER, configRegisterTemplate | mpc.getMux() | OperationMode.SINGLE.getMode());
+        writeConfig(configWords[channel.ordinal()] | OperationMode.SINGLE.getMode());
         //wait until ad converter has stored new value in conversion register
-        //delay time is reciprocal of 1/2 of sampling time (*1000 from s to ms)
-        delay(Duration.ofMillis((long) (2000.0 / dataRate.getSpS())));
+        if (acquisition == Acquisition.POLL_READY) {
+            pollReady(channel);
+        } else if (acquisition == Acquisition.ALERT_READY) {
+            awaitConversionReady(channel);
+        } else {
+            sleepNanos(conversionWaitNanos[channel.ordinal()]);
+        }
 
         //now we can read the channel value from conversion register
-        int registeredValue = readRegister(CONVERSION_REGISTER);
+        return toVoltage(channel, readRegister(CONVERSION_REGISTER));
+    }
 
-        double voltage = pga.gainPerBit * registeredValue;
+    /**
+     * Reads a channel in continuous-conversion mode. The config register is only written if the device isn't converting
+     * this channel already, then the first conversion is awaited. Otherwise, the latest result is read right away.
+     *
+     * @return value from conversion register
+     */
+    private double readConvertingValue(Channel channel) {
+        int config = configWords[channel.ordinal()] | OperationMode.CONTINUOUS.getMode();
+        if (config != deviceConfig) {
+            Channel previous = conversionChannel;
+            conversionReady = false;
+            writeConfig(config);
+            conversionChannel = channel;
+            // the OS bit can't be polled in continuous-conversion mode
+            if (previous != null) {
+                //the device finishes the conversion of the previous channel before it starts with the new settings
+                sleepNanos(maxConversionNanos(previous) + maxConversionNanos(channel));
+            } else if (acquisition == Acquisition.ALERT_READY) {
+                awaitConversionReady(channel);
+            } else {
+                sleepNanos(conversionWaitNanos[channel.ordinal()]);
+            }
+        }
+        return toVoltage(channel, readRegister(CONVERSION_REGISTER));
+    }
 
-        RawValueRange range = getRange(channel);
-        range.maxRawValue = Math.max(range.maxRawValue, voltage);
-        range.minRawValue = Math.min(range.minRawValue, voltage);
+    /**
+     * Switches the device from continuous-conversion mode to power-down, if converting. The conversion in progress is
+     * finished by the device anyway, and a single-shot conversion requested meanwhile would be ignored. So this waits
+     * until it's done.
+     */
+    private void endContinuousConversion() {
+        Channel channel = conversionChannel;
+        if (channel != null) {
+            int noConversion = OperationalStatus.CLR_CURRENT_CONF_PARAM.getOperationalStatus();
+            writeConfig(configWords[channel.ordinal()] & noConversion | OperationMode.SINGLE.getMode());
+            conversionChannel = null;
+            sleepNanos(maxConversionNanos(channel));
+        }
+    }
 
-        return voltage;
+    /**
+     * Longest time a single conversion can take, the internal oscillator of the device is accurate to 10%
+     */
+    private long maxConversionNanos(Channel channel) {
+        return conversionWaitNanos[channel.ordinal()] / 2 * 11 / 10;
+    }
+
+    private void writeConfig(int config) {
+        writeRegister(CONFIG_REGISTER, config);
+        deviceConfig = config;
+    }
+
+    /**
+     * Like {@link #delay(Duration)}, but without creating a Duration for each sample
+     */
+    private static void sleepNanos(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        while (nanos > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(nanos);
+            nanos = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * Waits until the device has finished the conversion, but at most as long as the fixed delay.
+     * <p>
+     * The conversion can't be ready before roughly one conversion time (the internal oscillator is accurate to 10%),
+     * so the first poll is sent not until then. Afterwards the operational status is polled with a doubling back-off,
+     * starting at 1/32 of the conversion time and limited to 1/4 of it.
+     */
+    private void pollReady(Channel channel) {
+        long fixedDelay = conversionWaitNanos[channel.ordinal()];
+        long conversionTime = fixedDelay / 2;
+        long start = System.nanoTime();
+        long deadline = start + fixedDelay;
+
+        long backOff = conversionTime / 32;
+        long nextPoll = start + conversionTime * 9 / 10;
+        long now = start;
+        while (now < deadline) {
+            if (nextPoll > now) {
+                LockSupport.parkNanos(Math.min(nextPoll, deadline) - now);
+                now = System.nanoTime();
+                continue;
+            }
+            if ((readRegister(CONFIG_REGISTER) & OperationalStatus.READ_NO_CONV.getOperationalStatus()) != 0) {
+                now = System.nanoTime();
+                break;
+            }
+            nextPoll = now + backOff;
+            backOff = Math.min(backOff * 2, conversionTime / 4);
+            now = System.nanoTime();
+        }
+
+        savedLatencyNanos += Math.max(deadline - now, 0);
+        polledConversions++;
     }
 
     /**
-     * Sends, for each channel, a request to device and wait for response. Enters all responses in actualValue array.
-     * Waits for the rest of readFrequency time.
+     * Waits for the conversion-ready signal, but at most as long as the fixed delay
+     */
+    private void awaitConversionReady(Channel channel) {
+        long deadline = System.nanoTime() + conversionWaitNanos[channel.ordinal()];
+        awaitingConversion = Thread.currentThread();
+        try {
+            long waitNanos;
+            while (!conversionReady && (waitNanos = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, waitNanos);
+            }
+        } finally {
+            awaitingConversion = null;
+        }
+    }
+
+    /**
+     * Called on each falling edge of ALERT/RDY
+     */
+    private void onConversionReady() {
+        Runnable handler = onAlert;
+        if (handler != null) {
+            handler.run();
+        } else {
+            conversionReady = true;
+            Thread waiting = awaitingConversion;
+            if (waiting != null) {
+                LockSupport.unpark(waiting);
+            }
+        }
+    }
+
+    /**
+     * Converts the content of the conversion register, records it and updates the value range of the channel
      *
-     * @param threshold threshold for trigger new value change event in Volt
+     * @param registeredValue the conversion result, a 16-bit two's complement
+     * @return the voltage
      */
-    private void readAllChannels(double threshold) {
-        logDebug("Start continuous reading");
-        final long readFrequency = channelsInUse.size() * 16 * 1_000_000L;
+    private double toVoltage(Channel channel, int registeredValue) {
+        int i = channel.ordinal();
+        short rawValue = (short) registeredValue;
+        SampleRingBuffer buffer = channelTable.sampleBuffers[i];
+        if (buffer != null) {
+            buffer.offer(System.nanoTime(), rawValue);
+        }
 
-        //start new thread for continuous reading
-        new Thread(() -> {
-            while (continuousReadingActive) {
-                //start measuring time
-                long startTime = System.nanoTime();
+        double voltage = voltsPerBit[i] * rawValue;
+        maxRawValues[i] = Math.max(maxRawValues[i], voltage);
+        minRawValues[i] = Math.min(minRawValues[i], voltage);
 
-                channelsInUse.forEach((channel, onValueChange) -> {
-                    if(continuousReadingActive){ //can be set to false in the meantime
-                        double newVoltage = readSingleValue(channel);
-                        logDebug("Current value of channel %s: %d", channel, newVoltage);
+        return voltage;
+    }
 
-                        double oldVoltage = getOldVoltage(channel);
+    /**
+     * Converts a voltage to the format of the conversion and threshold registers, limited to the range of the channel
+     */
+    private int toRegisteredValue(Channel channel, double voltage) {
+        long value = Math.round(voltage / voltsPerBit[channel.ordinal()]);
+        return (int) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)) & 0xFFFF;
+    }
 
-                        if (Math.abs(oldVoltage - newVoltage) >= threshold) {
-                            logDebug("New value change triggered on channel %s, old value: %f , new value: %f", channel, oldVoltage, newVoltage);
-                            oldVoltages.put(channel, newVoltage);
+    /**
+     * Shortest period to read all channels in use, each reading needs twice the conversion time of its channel. A
+     * single channel is converted continuously, so it can be read once per conversion time.
+     */
+    private Duration minReadPeriod(ChannelTable table) {
+        Channel[] schedule = table.schedule;
+        if (schedule.length == 1) {
+            return Duration.ofNanos(conversionWaitNanos[schedule[0].ordinal()] / 2);
+        }
+        long nanos = 0;
+        for (Channel channel : schedule) {
+            nanos += conversionWaitNanos[channel.ordinal()];
+        }
+        //without any channel in use the scheduler just idles
+        return Duration.ofNanos(Math.max(nanos, conversionWaitNanos[Channel.A0.ordinal()]));
+    }
 
-                            onValueChange.accept(newVoltage);
-                        }
-                    }
-                });
+    /**
+     * Sends, for each channel, a request to device and wait for response. Called by the scheduler once per period.
+     * <p>
+     * The channel table is taken once per cycle, so all channels of a cycle are read according to the same schedule.
+     * A single channel, e.g. a bridge sensor on a differential channel, keeps the same mux setting all the time. The
+     * device converts it continuously then, without writing the config register for each reading.
+     * Package-private for the benchmarks.
+     *
+     * @param threshold threshold for trigger new value change event in Volt
+     */
+    void readAllChannels(double threshold) {
+        ChannelTable table = channelTable;
+        Channel[] schedule = table.schedule;
+        if (schedule.length == 1) {
+            notifyIfChanged(table, schedule[0], readConvertingValue(schedule[0]), threshold);
+            return;
+        }
+        for (int i = 0; i < schedule.length && isContinuousReadingActive(); i++) { //can be stopped in the meantime
+            notifyIfChanged(table, schedule[i], readSingleValue(schedule[i]), threshold);
+        }
+    }
 
-                long elapsedNanos = System.nanoTime() - startTime;
-                long restDelay = elapsedNanos - readFrequency;
+    /**
+     * Reads the latest result of the continuous-conversion mode. Called by the scheduler once per conversion time.
+     * Package-private for the benchmarks.
+     *
+     * @param threshold threshold for trigger new value change event in Volt
+     */
+    void readConversion(Channel channel, double threshold) {
+        // with ALERT/RDY the watchdog and the conversion-ready signal might read at the same time
+        synchronized (conversionLock) {
+            double newVoltage = toVoltage(channel, readRegister(CONVERSION_REGISTER));
+            notifyIfChanged(channelTable, channel, newVoltage, threshold);
+        }
+    }
 
-                //wait for rest of the cycle time
-                delay(Duration.ofMillis(((restDelay > 0) ? restDelay : 0) / 1_000_000L));
+    /**
+     * Reads the latest result of the window comparator, the handler is called with values outside the window only
+     */
+    private void readWindow(Channel channel, double lowVoltage, double highVoltage) {
+        synchronized (conversionLock) {
+            double voltage = toVoltage(channel, readRegister(CONVERSION_REGISTER));
+            DoubleConsumer onValueChange = channelTable.onValueChanges[channel.ordinal()];
+            if (onValueChange != null && (voltage < lowVoltage || voltage > highVoltage)) {
+                onValueChange.accept(voltage);
             }
-        }).start();
+        }
     }
 
-    private double getOldVoltage(Channel channel){
-        return oldVoltages.computeIfAbsent(channel, (c) -> -10.0);
+    /**
+     * Called for each sample, so nothing is logged here. Even if the log level is too low, the arguments are boxed.
+     */
+    private void notifyIfChanged(ChannelTable table, Channel channel, double newVoltage, double threshold) {
+        int i = channel.ordinal();
+        DoubleConsumer onValueChange = table.onValueChanges[i];
+        if (onValueChange == null) {
+            return;
+        }
+        if (notifiedVersions[i] != table.versions[i]) {
+            // a new handler gets the next value in any case
+            notifiedVersions[i] = table.versions[i];
+            oldVoltages[i] = NO_VOLTAGE;
+        }
+        if (Math.abs(oldVoltages[i] - newVoltage) >= threshold) {
+            oldVoltages[i] = newVoltage;
+
+            onValueChange.accept(newVoltage);
+        }
     }
 
-    private RawValueRange getRange(Channel channel){
-        return valueRanges.computeIfAbsent(channel, (c) -> new RawValueRange());
+    // --------------- for testing --------------------
+
+    public MockDigitalInput mockAlertReadyPin() {
+        return asMock(MockDigitalInput.class, alertReadyInput);
     }
 
-    private static class RawValueRange{
-        double minRawValue = 0.1;
-        double maxRawValue = 3.2;
+    /**
+     * Immutable snapshot of the channels in use, indexed by ordinal. Changes create a new table (copy-on-write).
+     */
+    private static final class ChannelTable {
+        /**
+         * handler of each channel, null if the channel has none
+         */
+        private final DoubleConsumer[] onValueChanges;
+        /**
+         * buffer of the raw samples of each channel, null if the samples are not recorded
+         */
+        private final SampleRingBuffer[] sampleBuffers;
+        /**
+         * incremented on each change of the handler of the channel
+         */
+        private final int[] versions;
+        /**
+         * the channels read by continuous reading, in the order they are read
+         */
+        private final Channel[] schedule;
+
+        private ChannelTable(DoubleConsumer[] onValueChanges, SampleRingBuffer[] sampleBuffers, int[] versions) {
+            this.onValueChanges = onValueChanges;
+            this.sampleBuffers  = sampleBuffers;
+            this.versions       = versions;
+            // a channel is read continuously if it has a handler or its samples are recorded
+            this.schedule = Arrays.stream(CHANNELS)
+                    .filter(channel -> onValueChanges[channel.ordinal()] != null || sampleBuffers[channel.ordinal()] != null)
+                    .toArray(Channel[]::new);
+        }
+
+        ChannelTable withHandler(Channel channel, DoubleConsumer onValueChange) {
+            DoubleConsumer[] handlers = onValueChanges.clone();
+            int[] newVersions = versions.clone();
+            handlers[channel.ordinal()] = onValueChange;
+            newVersions[channel.ordinal()]++;
+
+            return new ChannelTable(handlers, sampleBuffers, newVersions);
+        }
+
+        ChannelTable withBuffer(Channel channel, SampleRingBuffer buffer) {
+            SampleRingBuffer[] buffers = sampleBuffers.clone();
+            buffers[channel.ordinal()] = buffer;
+
+            return new ChannelTable(onValueChanges, buffers, versions);
+        }
     }
 
+    /**
+     * How to wait for the result of a single conversion
+     * <p>
+     * The following modes can be used
+     * {@link #FIXED_DELAY}
+     * {@link #POLL_READY}
+     * {@link #ALERT_READY}
+     */
+    public enum Acquisition {
+        /**
+         * Sleep twice the nominal conversion time, no additional bus traffic
+         */
+        FIXED_DELAY,
+        /**
+         * Poll the operational status in the config register and read the result as soon as the conversion is done
+         */
+        POLL_READY,
+        /**
+         * Read the result on the conversion-ready signal of the ALERT/RDY pin, see {@link #useAlertReadyPin(PIN)}
+         */
+        ALERT_READY
+    }
+
+    /**
+     * Analog input of the device
+     * <p>
+     * The single-ended channels measure the voltage between an input and GND, the differential channels the voltage
+     * between two inputs, e.g. of a bridge sensor. Differential values can be negative.
+     */
     public enum Channel {
-        A0, A1, A2, A3
+        A0(MultiplexerConfig.AIN0_GND),
+        A1(MultiplexerConfig.AIN1_GND),
+        A2(MultiplexerConfig.AIN2_GND),
+        A3(MultiplexerConfig.AIN3_GND),
+        /**
+         * AIN0 - AIN1
+         */
+        A0_A1(MultiplexerConfig.AIN0_AIN1),
+        /**
+         * AIN0 - AIN3
+         */
+        A0_A3(MultiplexerConfig.AIN0_AIN3),
+        /**
+         * AIN1 - AIN3
+         */
+        A1_A3(MultiplexerConfig.AIN1_AIN3),
+        /**
+         * AIN2 - AIN3
+         */
+        A2_A3(MultiplexerConfig.AIN2_AIN3);
+
+        /**
+         * input multiplexer setting
+         */
+        private final MultiplexerConfig mux;
+
+        Channel(MultiplexerConfig mux) {
+            this.mux = mux;
+        }
+
+        public MultiplexerConfig getMultiplexerConfig() {
+            return mux;
+        }
+
+        public boolean isDifferential() {
+            return mux.getMux() < MultiplexerConfig.AIN0_GND.getMux();
+        }
     }
 
     /**
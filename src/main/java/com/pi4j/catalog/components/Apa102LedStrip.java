@@ -0,0 +1,104 @@
+package com.pi4j.catalog.components;
+
+import com.pi4j.context.Context;
+
+/**
+ * Creates an SPI Control for an APA102 (or SK9822) LED Strip, also known as 'DotStar'.
+ * <p>
+ * In contrast to a WS2812 strip, these LEDs have a separate clock line. Therefore, no bit-banging is needed, every LED
+ * needs just 4 bytes and the strip can be refreshed much faster.
+ * <p>
+ * When using Pi4J-OS-Image (highly recommended), use GPIO#20 (SPI1 MOSI) for data and GPIO#21 (SPI1 SCLK) for clock.
+ * <p>
+ * It provides the same API as {@link LedStrip}, so it can be used e.g. for a {@link LedMatrix} too. But instead of
+ * scaling the colors in software, the max brightness is sent to each LED as its 5-bit global brightness. Therefore,
+ * a new max brightness is applied to the colors already set as well.
+ */
+public class Apa102LedStrip extends LedStrip {
+    /**
+     * Default Channel of the SPI Pins
+     */
+    private static final int DEFAULT_SPI_CHANNEL = 0;
+    /**
+     * Default brightness
+     */
+    private static final double DEFAULT_BRIGHTNESS = 0.2;
+    /**
+     * The LEDs can handle much higher frequencies, but long strips and cables need a moderate one
+     */
+    private static final int DEFAULT_FREQUENCY = 4_000_000;
+    /**
+     * Each frame starts with 32 zero bits
+     */
+    private static final int START_FRAME_SIZE = 4;
+    /**
+     * The first 3 bits of every LED frame are always set, the other 5 bits are the global brightness
+     */
+    private static final int LED_FRAME_MARKER = 0b1110_0000;
+    private static final int GLOBAL_BRIGHTNESS_MAX = 0b0001_1111;
+
+    /**
+     * Creates a new APA102 LED strip with default brightness on the default channel
+     *
+     * @param pi4j         Pi4J context
+     * @param numberOfLEDs How many LEDs are on this strand
+     */
+    public Apa102LedStrip(Context pi4j, int numberOfLEDs) {
+        this(pi4j, numberOfLEDs, DEFAULT_BRIGHTNESS, DEFAULT_SPI_CHANNEL);
+    }
+
+    /**
+     * Creates a new APA102 LED strip
+     *
+     * @param pi4j          Pi4J context
+     * @param numberOfLEDs  How many LEDs are on this strand
+     * @param maxBrightness How bright the leds can be at max, range 0 - 1
+     * @param channel       which channel to use
+     */
+    public Apa102LedStrip(Context pi4j, int numberOfLEDs, double maxBrightness, int channel) {
+        super(pi4j, numberOfLEDs, maxBrightness, channel, DEFAULT_FREQUENCY, frameSize(numberOfLEDs));
+    }
+
+    /**
+     * A frame consists of the start frame, 4 bytes per LED and the end frame.
+     * <p>
+     * The data is delayed by half a clock cycle on each LED, so the end frame needs at least numberOfLEDs/2 additional
+     * clock cycles. The SK9822 additionally needs 32 zero bits to latch the new colors.
+     */
+    private static int frameSize(int numberOfLEDs) {
+        return START_FRAME_SIZE + 4 * numberOfLEDs + 4 + (numberOfLEDs + 15) / 16;
+    }
+
+    /**
+     * LED frames are sent as follows: 111 + 5 bits global brightness, blue, green, red.
+     * Start and end frame are all zeros.
+     */
+    @Override
+    protected void encodeFrame(int[] colors, byte[] frame) {
+        byte header = (byte) (LED_FRAME_MARKER | globalBrightness());
+        int counter = START_FRAME_SIZE;
+        for (int color : colors) {
+            frame[counter++] = header;
+            frame[counter++] = (byte) LedColor.getBlueComponent(color);
+            frame[counter++] = (byte) LedColor.getGreenComponent(color);
+            frame[counter++] = (byte) LedColor.getRedComponent(color);
+        }
+    }
+
+    /**
+     * The colors are not scaled at all, the LEDs handle the brightness by themselves
+     */
+    @Override
+    protected double colorTableBrightness() {
+        return 1.0;
+    }
+
+    /**
+     * Any brightness above 0 results at least in the lowest global brightness
+     *
+     * @return max brightness converted to the global brightness of the LEDs, range 0 - 31
+     */
+    int globalBrightness() {
+        return (int) Math.ceil(getMaxBrightness() * GLOBAL_BRIGHTNESS_MAX);
+    }
+}
@@ -1,16 +1,20 @@
 package com.pi4j.catalog.components;
 
 import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongConsumer;
 
 import com.pi4j.context.Context;
 
 import com.pi4j.catalog.components.base.Component;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
 
 /**
  * Creates an SPI Control for Neopixel for a LED matrix consisting of a single LED Strip.
  *
  * It's more or less a pure convenience class to get an API more appropriate to operate with a matrix.
- * All calls are delegated to the LED strip
+ * All calls are delegated to the LED strip. How the LEDs of the strip are arranged is described by a
+ * {@link LedMatrixTopology}, e.g. for a canvas made of several panels.
  */
 public class LedMatrix extends Component {
 
@@ -22,6 +26,12 @@ public class LedMatrix extends Component {
     private final int rows;
     private final int columns;
 
+    /**
+     * Position on the strip of each LED, indexed by {@code row * columns + column}.
+     * Compiled once by the topology, so accessing a pixel is just an array lookup.
+     */
+    private final int[] positions;
+
 
     /**
      * Creates a new LEDMatrix with the defined rows and columns
@@ -32,11 +42,54 @@ public class LedMatrix extends Component {
      * @param brightness How bright the LEDs can be at max, Range 0 - 1
      */
     public LedMatrix(Context pi4j, int rows, int columns) {
-        this.rows = rows;
-        this.columns = columns;
-        this.ledStrip = new LedStrip(pi4j, rows*columns);
+        this(pi4j, LedMatrixTopology.serpentine(rows, columns));
+    }
+
+    /**
+     * Creates a new LEDMatrix with the given arrangement of the LEDs
+     *
+     * @param pi4j     Pi4J context
+     * @param topology how the LEDs of the strip are arranged
+     */
+    public LedMatrix(Context pi4j, LedMatrixTopology topology) {
+        this(new LedStrip(pi4j, topology.getNumPixels()), topology);
+    }
+
+    /**
+     * Creates a new LEDMatrix using the given strip, e.g. an {@link Apa102LedStrip}
+     *
+     * @param ledStrip   the strip the LEDs of the matrix belong to, needs rows * columns LEDs
+     * @param rows       How many rows of LED
+     * @param columns    How many columns of LED
+     */
+    public LedMatrix(LedStrip ledStrip, int rows, int columns) {
+        this(ledStrip, LedMatrixTopology.serpentine(rows, columns));
+    }
+
+    /**
+     * Creates a new LEDMatrix using the given strip and arrangement of the LEDs
+     *
+     * @param ledStrip the strip the LEDs of the matrix belong to, needs as many LEDs as the topology
+     * @param topology how the LEDs of the strip are arranged
+     */
+    public LedMatrix(LedStrip ledStrip, LedMatrixTopology topology) {
+        if (ledStrip.getNumPixels() != topology.getNumPixels()) {
+            throw new IllegalArgumentException("LED strip needs " + topology.getNumPixels() + " LEDs");
+        }
+        this.rows = topology.getRows();
+        this.columns = topology.getColumns();
+        this.ledStrip = ledStrip;
+        this.positions = topology.positions();
+    }
+
+
+    public int getRows() {
+        return rows;
     }
 
+    public int getColumns() {
+        return columns;
+    }
 
     @Override
     public void reset() {
@@ -74,14 +127,16 @@ public class LedMatrix extends Component {
      * @param color the color that is set
      */
     public void setRowColor(int row, int color) {
-        for(int i= (row * columns); i< (row * columns) + columns; i++){
-            ledStrip.setPixelColor(i, color);
+        Objects.checkIndex(row, rows);
+        for (int i = row * columns; i < (row + 1) * columns; i++) {
+            ledStrip.setPixelColor(positions[i], color);
         }
     }
 
     public void setColumnColor(int column, int color){
-        for(int i = 0; i<rows; i++){
-            ledStrip.setPixelColor(positionOnStrip(i, column), color);
+        Objects.checkIndex(column, columns);
+        for (int i = column; i < positions.length; i += columns) {
+            ledStrip.setPixelColor(positions[i], color);
         }
     }
 
@@ -94,6 +149,90 @@ public class LedMatrix extends Component {
         ledStrip.setStripColor(color);
     }
 
+    /**
+     * Setting all LEDs of the matrix at once, e.g. a frame of a game or a dashboard
+     *
+     * @param frame the colors of all LEDs, row by row, needs rows * columns colors
+     */
+    public void drawFrame(int[] frame) {
+        if (frame.length != positions.length) {
+            throw new IllegalArgumentException("Frame needs " + positions.length + " colors");
+        }
+        ledStrip.setPixelColors(positions, 0, columns, frame, 0, columns, rows, columns, false, 0);
+    }
+
+    /**
+     * Drawing a raster of colors to the matrix. Parts outside the matrix are skipped.
+     *
+     * @param row           row of the top left corner of the raster, may be negative
+     * @param column        column of the top left corner of the raster, may be negative
+     * @param raster        the colors, row by row
+     * @param rasterColumns number of columns of the raster
+     */
+    public void drawRaster(int row, int column, int[] raster, int rasterColumns) {
+        drawRaster(row, column, raster, rasterColumns, 0, 0, rasterRows(raster, rasterColumns), rasterColumns);
+    }
+
+    /**
+     * Drawing a rectangle of a raster to the matrix, e.g. one image of a sprite sheet. Parts outside the matrix are
+     * skipped.
+     *
+     * @param row           row of the top left corner on the matrix, may be negative
+     * @param column        column of the top left corner on the matrix, may be negative
+     * @param raster        the colors, row by row
+     * @param rasterColumns number of columns of the raster
+     * @param fromRow       first row of the raster to draw
+     * @param fromColumn    first column of the raster to draw
+     * @param height        number of rows to draw
+     * @param width         number of columns to draw
+     */
+    public void drawRaster(int row, int column, int[] raster, int rasterColumns, int fromRow, int fromColumn, int height, int width) {
+        draw(row, column, raster, rasterColumns, fromRow, fromColumn, height, width, false, 0);
+    }
+
+    /**
+     * Drawing a sprite to the matrix. Pixels of the transparent color are skipped, so the background stays visible.
+     * Parts outside the matrix are skipped as well.
+     *
+     * @param row              row of the top left corner of the sprite, may be negative
+     * @param column           column of the top left corner of the sprite, may be negative
+     * @param sprite           the colors of the sprite, row by row
+     * @param spriteColumns    number of columns of the sprite
+     * @param transparentColor the color used for the background of the sprite
+     */
+    public void drawSprite(int row, int column, int[] sprite, int spriteColumns, int transparentColor) {
+        draw(row, column, sprite, spriteColumns, 0, 0, rasterRows(sprite, spriteColumns), spriteColumns, true, transparentColor);
+    }
+
+    private void draw(int row, int column, int[] raster, int rasterColumns, int fromRow, int fromColumn, int height, int width,
+                      boolean transparent, int transparentColor) {
+        Objects.checkFromIndexSize(fromRow, height, rasterRows(raster, rasterColumns));
+        Objects.checkFromIndexSize(fromColumn, width, rasterColumns);
+
+        // clipping to the matrix
+        int skipRows    = Math.max(0, -row);
+        int skipColumns = Math.max(0, -column);
+        int visibleRows    = Math.min(height, rows - row) - skipRows;
+        int visibleColumns = Math.min(width, columns - column) - skipColumns;
+        if (visibleRows <= 0 || visibleColumns <= 0) {
+            return;
+        }
+
+        ledStrip.setPixelColors(positions, (row + skipRows) * columns + column + skipColumns, columns,
+                raster, (fromRow + skipRows) * rasterColumns + fromColumn + skipColumns, rasterColumns,
+                visibleRows, visibleColumns, transparent, transparentColor);
+    }
+
+    /**
+     * @return number of rows of the raster
+     */
+    private static int rasterRows(int[] raster, int rasterColumns) {
+        if (rasterColumns < 1 || raster.length % rasterColumns != 0) {
+            throw new IllegalArgumentException("Raster must consist of complete rows");
+        }
+        return raster.length / rasterColumns;
+    }
+
     /**
      * Rendering the LEDs by setting the pixels on the lED strip component
      */
@@ -101,6 +240,53 @@ public class LedMatrix extends Component {
         ledStrip.render(duration);
     }
 
+    /**
+     * Rendering the LEDs, sending them to the LED strip even if nothing changed since the last rendering
+     */
+    public void render(Duration duration, boolean forceRefresh) {
+        ledStrip.render(duration, forceRefresh);
+    }
+
+    /**
+     * Starts an animation running at a fixed frame rate in its own thread.
+     *
+     * @param framesPerSecond the target frame rate
+     * @param onFrame         sets the pixels for the given frame number
+     * @return the scheduler running the animation, provides statistics about the frame rate and dropped frames
+     * @see LedStrip#animate(double, LongConsumer)
+     */
+    public FixedRateScheduler animate(double framesPerSecond, LongConsumer onFrame) {
+        return ledStrip.animate(framesPerSecond, onFrame);
+    }
+
+    /**
+     * Stops the running animation, if any
+     */
+    public void stopAnimation() {
+        ledStrip.stopAnimation();
+    }
+
+    /**
+     * Stops the given animation, see {@link LedStrip#stopAnimation(FixedRateScheduler)}
+     */
+    public void stopAnimation(FixedRateScheduler scheduler) {
+        ledStrip.stopAnimation(scheduler);
+    }
+
+    /**
+     * Renders in a separate thread, see {@link LedStrip#startAsyncRendering()}
+     */
+    public void startAsyncRendering() {
+        ledStrip.startAsyncRendering();
+    }
+
+    /**
+     * Renders in the calling thread again
+     */
+    public void stopAsyncRendering() {
+        ledStrip.stopAsyncRendering();
+    }
+
     /**
      * setting all LEDs off
      */
@@ -118,18 +304,20 @@ public class LedMatrix extends Component {
         ledStrip.setMaxBrightness(brightness);
     }
 
+    /**
+     * Enables or disables the perceptual gamma correction
+     *
+     * @param enabled true to enable gamma correction
+     */
+    public void setGammaCorrection(boolean enabled) {
+        ledStrip.setGammaCorrection(enabled);
+    }
+
     private int positionOnStrip(int row, int col) {
-        boolean even = row % 2 == 0;
-        int pos;
-        if(even){
-            pos =  (row * columns) + col;
-        }
-        else {
-            pos = (row * columns) + (columns - 1 - col);
-        }
-        System.out.printf("row %d, col %d, even %b, pos %d %n", row, col, even, pos);
+        Objects.checkIndex(row, rows);
+        Objects.checkIndex(col, columns);
 
-        return pos;
+        return positions[row * columns + col];
     }
 
 }
@@ -0,0 +1,309 @@
+package com.pi4j.catalog.components;
+
+import java.util.Arrays;
+
+import com.pi4j.catalog.components.base.Component;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
+
+/**
+ * Text layer for a {@link LedMatrix}, using a built-in 5x7 bitmap font.
+ * <p>
+ * The whole message is rendered once into a raster when it's set. Drawing the text, or scrolling it as a marquee,
+ * just copies the visible part of this raster to the matrix. So the cost per frame doesn't depend on the length of the
+ * message.
+ * <p>
+ * A ticker is started like this:
+ * <pre>
+ * var text = new LedMatrixText(matrix);
+ * text.setMessage("Hello Pi4J");
+ * text.startMarquee(20);
+ * </pre>
+ */
+public class LedMatrixText extends Component {
+    public static final int GLYPH_WIDTH  = 5;
+    public static final int GLYPH_HEIGHT = 7;
+    /**
+     * Empty column between two characters
+     */
+    private static final int SPACING = 1;
+    private static final char FIRST_CHAR = ' ';
+    private static final char LAST_CHAR  = '~';
+
+    /**
+     * Printable ASCII characters, 5 columns per character. Bit 0 of each column is the top row.
+     */
+    private static final int[] FONT = {
+            0x00, 0x00, 0x00, 0x00, 0x00, // ' '
+            0x00, 0x00, 0x5F, 0x00, 0x00, // !
+            0x00, 0x07, 0x00, 0x07, 0x00, // "
+            0x14, 0x7F, 0x14, 0x7F, 0x14, // #
+            0x24, 0x2A, 0x7F, 0x2A, 0x12, // $
+            0x23, 0x13, 0x08, 0x64, 0x62, // %
+            0x36, 0x49, 0x55, 0x22, 0x50, // &
+            0x00, 0x05, 0x03, 0x00, 0x00, // '
+            0x00, 0x1C, 0x22, 0x41, 0x00, // (
+            0x00, 0x41, 0x22, 0x1C, 0x00, // )
+            0x08, 0x2A, 0x1C, 0x2A, 0x08, // *
+            0x08, 0x08, 0x3E, 0x08, 0x08, // +
+            0x00, 0x50, 0x30, 0x00, 0x00, // ,
+            0x08, 0x08, 0x08, 0x08, 0x08, // -
+            0x00, 0x60, 0x60, 0x00, 0x00, // .
+            0x20, 0x10, 0x08, 0x04, 0x02, // /
+            0x3E, 0x51, 0x49, 0x45, 0x3E, // 0
+            0x00, 0x42, 0x7F, 0x40, 0x00, // 1
+            0x42, 0x61, 0x51, 0x49, 0x46, // 2
+            0x21, 0x41, 0x45, 0x4B, 0x31, // 3
+            0x18, 0x14, 0x12, 0x7F, 0x10, // 4
+            0x27, 0x45, 0x45, 0x45, 0x39, // 5
+            0x3C, 0x4A, 0x49, 0x49, 0x30, // 6
+            0x01, 0x71, 0x09, 0x05, 0x03, // 7
+            0x36, 0x49, 0x49, 0x49, 0x36, // 8
+            0x06, 0x49, 0x49, 0x29, 0x1E, // 9
+            0x00, 0x36, 0x36, 0x00, 0x00, // :
+            0x00, 0x56, 0x36, 0x00, 0x00, // ;
+            0x08, 0x14, 0x22, 0x41, 0x00, // <
+            0x14, 0x14, 0x14, 0x14, 0x14, // =
+            0x00, 0x41, 0x22, 0x14, 0x08, // >
+            0x02, 0x01, 0x51, 0x09, 0x06, // ?
+            0x32, 0x49, 0x79, 0x41, 0x3E, // @
+            0x7E, 0x11, 0x11, 0x11, 0x7E, // A
+            0x7F, 0x49, 0x49, 0x49, 0x36, // B
+            0x3E, 0x41, 0x41, 0x41, 0x22, // C
+            0x7F, 0x41, 0x41, 0x22, 0x1C, // D
+            0x7F, 0x49, 0x49, 0x49, 0x41, // E
+            0x7F, 0x09, 0x09, 0x01, 0x01, // F
+            0x3E, 0x41, 0x41, 0x51, 0x32, // G
+            0x7F, 0x08, 0x08, 0x08, 0x7F, // H
+            0x00, 0x41, 0x7F, 0x41, 0x00, // I
+            0x20, 0x40, 0x41, 0x3F, 0x01, // J
+            0x7F, 0x08, 0x14, 0x22, 0x41, // K
+            0x7F, 0x40, 0x40, 0x40, 0x40, // L
+            0x7F, 0x02, 0x04, 0x02, 0x7F, // M
+            0x7F, 0x04, 0x08, 0x10, 0x7F, // N
+            0x3E, 0x41, 0x41, 0x41, 0x3E, // O
+            0x7F, 0x09, 0x09, 0x09, 0x06, // P
+            0x3E, 0x41, 0x51, 0x21, 0x5E, // Q
+            0x7F, 0x09, 0x19, 0x29, 0x46, // R
+            0x46, 0x49, 0x49, 0x49, 0x31, // S
+            0x01, 0x01, 0x7F, 0x01, 0x01, // T
+            0x3F, 0x40, 0x40, 0x40, 0x3F, // U
+            0x1F, 0x20, 0x40, 0x20, 0x1F, // V
+            0x7F, 0x20, 0x18, 0x20, 0x7F, // W
+            0x63, 0x14, 0x08, 0x14, 0x63, // X
+            0x03, 0x04, 0x78, 0x04, 0x03, // Y
+            0x61, 0x51, 0x49, 0x45, 0x43, // Z
+            0x00, 0x7F, 0x41, 0x41, 0x00, // [
+            0x02, 0x04, 0x08, 0x10, 0x20, // \
+            0x00, 0x41, 0x41, 0x7F, 0x00, // ]
+            0x04, 0x02, 0x01, 0x02, 0x04, // ^
+            0x40, 0x40, 0x40, 0x40, 0x40, // _
+            0x00, 0x01, 0x02, 0x04, 0x00, // `
+            0x20, 0x54, 0x54, 0x54, 0x78, // a
+            0x7F, 0x48, 0x44, 0x44, 0x38, // b
+            0x38, 0x44, 0x44, 0x44, 0x20, // c
+            0x38, 0x44, 0x44, 0x48, 0x7F, // d
+            0x38, 0x54, 0x54, 0x54, 0x18, // e
+            0x08, 0x7E, 0x09, 0x01, 0x02, // f
+            0x08, 0x14, 0x54, 0x54, 0x3C, // g
+            0x7F, 0x08, 0x04, 0x04, 0x78, // h
+            0x00, 0x44, 0x7D, 0x40, 0x00, // i
+            0x20, 0x40, 0x44, 0x3D, 0x00, // j
+            0x00, 0x7F, 0x10, 0x28, 0x44, // k
+            0x00, 0x41, 0x7F, 0x40, 0x00, // l
+            0x7C, 0x04, 0x18, 0x04, 0x78, // m
+            0x7C, 0x08, 0x04, 0x04, 0x78, // n
+            0x38, 0x44, 0x44, 0x44, 0x38, // o
+            0x7C, 0x14, 0x14, 0x14, 0x08, // p
+            0x08, 0x14, 0x14, 0x18, 0x7C, // q
+            0x7C, 0x08, 0x04, 0x04, 0x08, // r
+            0x48, 0x54, 0x54, 0x54, 0x20, // s
+            0x04, 0x3F, 0x44, 0x40, 0x20, // t
+            0x3C, 0x40, 0x40, 0x20, 0x7C, // u
+            0x1C, 0x20, 0x40, 0x20, 0x1C, // v
+            0x3C, 0x40, 0x30, 0x40, 0x3C, // w
+            0x44, 0x28, 0x10, 0x28, 0x44, // x
+            0x0C, 0x50, 0x50, 0x50, 0x3C, // y
+            0x44, 0x64, 0x54, 0x4C, 0x44, // z
+            0x00, 0x08, 0x36, 0x41, 0x00, // {
+            0x00, 0x00, 0x7F, 0x00, 0x00, // |
+            0x00, 0x41, 0x36, 0x08, 0x00, // }
+            0x10, 0x08, 0x08, 0x10, 0x08, // ~
+    };
+
+    private final LedMatrix matrix;
+
+    /**
+     * Every glyph rasterized with the current colors, created when needed and dropped if the colors change
+     */
+    private final int[][] glyphCache = new int[LAST_CHAR - FIRST_CHAR + 1][];
+
+    private int color = LedStrip.LedColor.WHITE;
+    private int background = 0;
+    private String message = "";
+
+    /**
+     * The rendered message, preceded by as many empty columns as the matrix has, so a marquee starts with an empty
+     * matrix and has a gap between the end and the restart of the message. Replaced as a whole, so a running marquee
+     * always sees a complete raster.
+     */
+    private volatile int[] raster;
+
+    private FixedRateScheduler marquee;
+
+    /**
+     * Creates a new text layer with white text on black background
+     *
+     * @param matrix the matrix to draw on
+     */
+    public LedMatrixText(LedMatrix matrix) {
+        this.matrix = matrix;
+        renderMessage();
+    }
+
+    /**
+     * Sets the colors, the message is rendered again.
+     *
+     * @param color      color of the text
+     * @param background color of the space around and between the characters
+     */
+    public void setColors(int color, int background) {
+        if (this.color != color || this.background != background) {
+            this.color = color;
+            this.background = background;
+            Arrays.fill(glyphCache, null);
+            renderMessage();
+        }
+    }
+
+    /**
+     * Sets the text to draw. Characters not available in the font are shown as '?'.
+     *
+     * @param message the text, a single line
+     */
+    public void setMessage(String message) {
+        this.message = message;
+        renderMessage();
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return width of the rendered message in pixels
+     */
+    public int getMessageColumns() {
+        return raster.length / GLYPH_HEIGHT - matrix.getColumns();
+    }
+
+    /**
+     * Draws the whole message to the matrix, parts outside the matrix are skipped.
+     * Call {@link LedMatrix#render(java.time.Duration)} afterwards.
+     *
+     * @param row    row of the top of the text, may be negative
+     * @param column column of the first character, may be negative
+     */
+    public void drawText(int row, int column) {
+        int[] current = raster;
+        int rasterColumns = current.length / GLYPH_HEIGHT;
+        int leadingColumns = matrix.getColumns();
+        if (rasterColumns > leadingColumns) {
+            matrix.drawRaster(row, column, current, rasterColumns, 0, leadingColumns, GLYPH_HEIGHT, rasterColumns - leadingColumns);
+        }
+    }
+
+    /**
+     * Draws the message scrolled by the given number of pixels, vertically centered. Scrolling starts with an empty
+     * matrix, the message moves in from the right and restarts once it has left the matrix. The rows above and below
+     * the text are filled with the background color.
+     * Call {@link LedMatrix#render(java.time.Duration)} afterwards.
+     *
+     * @param offset number of pixels scrolled so far
+     */
+    public void drawMarquee(long offset) {
+        int[] current = raster;
+        int rasterColumns = current.length / GLYPH_HEIGHT;
+        int row = (matrix.getRows() - GLYPH_HEIGHT) / 2;
+        int visible = matrix.getColumns();
+        int start = (int) Math.floorMod(offset, (long) rasterColumns);
+
+        for (int r = 0; r < matrix.getRows(); r++) {
+            if (r < row || r >= row + GLYPH_HEIGHT) {
+                matrix.setRowColor(r, background);
+            }
+        }
+
+        int firstPart = Math.min(visible, rasterColumns - start);
+        matrix.drawRaster(row, 0, current, rasterColumns, 0, start, GLYPH_HEIGHT, firstPart);
+        if (firstPart < visible) {
+            // wrap around to the beginning of the message
+            matrix.drawRaster(row, firstPart, current, rasterColumns, 0, 0, GLYPH_HEIGHT, visible - firstPart);
+        }
+    }
+
+    /**
+     * Starts scrolling the message as a marquee, moving one pixel per frame.
+     * A running animation of the matrix, e.g. a previous marquee, is stopped first.
+     *
+     * @param pixelsPerSecond scroll speed
+     * @return the scheduler running the marquee, provides statistics about the frame rate and dropped frames
+     */
+    public FixedRateScheduler startMarquee(double pixelsPerSecond) {
+        marquee = matrix.animate(pixelsPerSecond, this::drawMarquee);
+        return marquee;
+    }
+
+    /**
+     * Stops the marquee, if running
+     */
+    public void stopMarquee() {
+        FixedRateScheduler running = marquee;
+        if (running != null) {
+            marquee = null;
+            //another animation started on the matrix in the meantime keeps running
+            matrix.stopAnimation(running);
+        }
+    }
+
+    @Override
+    public void reset() {
+        stopMarquee();
+        super.reset();
+    }
+
+    private void renderMessage() {
+        int leadingColumns = matrix.getColumns();
+        int messageColumns = message.length() * (GLYPH_WIDTH + SPACING);
+        int rasterColumns  = leadingColumns + messageColumns;
+
+        int[] rendered = new int[GLYPH_HEIGHT * rasterColumns];
+        Arrays.fill(rendered, background);
+        for (int i = 0; i < message.length(); i++) {
+            int[] glyph = glyph(message.charAt(i));
+            int column = leadingColumns + i * (GLYPH_WIDTH + SPACING);
+            for (int row = 0; row < GLYPH_HEIGHT; row++) {
+                System.arraycopy(glyph, row * GLYPH_WIDTH, rendered, row * rasterColumns + column, GLYPH_WIDTH);
+            }
+        }
+        raster = rendered;
+        logDebug("Rendered '%s' with %d columns", message, messageColumns);
+    }
+
+    private int[] glyph(char character) {
+        if (character < FIRST_CHAR || character > LAST_CHAR) {
+            character = '?';
+        }
+        int index = character - FIRST_CHAR;
+        if (glyphCache[index] == null) {
+            int[] glyph = new int[GLYPH_HEIGHT * GLYPH_WIDTH];
+            for (int column = 0; column < GLYPH_WIDTH; column++) {
+                int bits = FONT[index * GLYPH_WIDTH + column];
+                for (int row = 0; row < GLYPH_HEIGHT; row++) {
+                    glyph[row * GLYPH_WIDTH + column] = (bits >> row & 1) == 1 ? color : background;
+                }
+            }
+            glyphCache[index] = glyph;
+        }
+        return glyphCache[index];
+    }
+}
@@ -0,0 +1,330 @@
+package com.pi4j.catalog.components;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Describes how the LEDs of a strip are arranged to a {@link LedMatrix}.
+ * <p>
+ * The matrix can consist of several identical panels, chained on the same strip and tiled to one large canvas.
+ * Every panel has its own rotation and can be flipped, e.g. if every second panel is mounted upside down to keep the
+ * cables short.
+ * <p>
+ * The description is compiled to a table holding the position on the strip of each pixel of the canvas once. Thus, a
+ * large multi-panel canvas costs the same per pixel as a single panel.
+ * <p>
+ * A topology of two 8x32 panels with column-wise wiring, the second one rotated, is built like this:
+ * <pre>
+ * var topology = LedMatrixTopology.newBuilder(8, 32)
+ *         .wiring(LedMatrixTopology.Wiring.COLUMNS_SERPENTINE)
+ *         .tiles(2, 1)
+ *         .panel(0, 0)
+ *         .panel(1, 0, LedMatrixTopology.Rotation.CLOCKWISE_180, false, false)
+ *         .build();
+ * </pre>
+ */
+public class LedMatrixTopology {
+    private final int rows;
+    private final int columns;
+
+    /**
+     * Position on the strip of each pixel, indexed by {@code row * columns + column}
+     */
+    private final int[] positions;
+
+    private LedMatrixTopology(Builder builder) {
+        int tileHeight = builder.tileHeight();
+        int tileWidth  = builder.tileWidth();
+        rows    = builder.tileRows * tileHeight;
+        columns = builder.tileColumns * tileWidth;
+
+        List<Panel> panels = builder.panels.isEmpty() ? builder.defaultPanels() : builder.panels;
+        if (panels.size() != builder.tileRows * builder.tileColumns) {
+            throw new IllegalArgumentException("Need one panel per tile, " + builder.tileRows * builder.tileColumns + " panels expected");
+        }
+
+        int panelSize = builder.panelRows * builder.panelColumns;
+        positions = new int[rows * columns];
+        boolean[] assigned = new boolean[positions.length];
+        for (int p = 0; p < panels.size(); p++) {
+            Panel panel = panels.get(p);
+            if (panel.rotatedWidth(builder) != tileWidth) {
+                throw new IllegalArgumentException("All panels must have the same orientation, panel " + p + " doesn't fit");
+            }
+            for (int k = 0; k < panelSize; k++) {
+                int pixel = panel.pixelOnCanvas(builder, k, tileHeight, tileWidth, columns);
+                if (assigned[pixel]) {
+                    throw new IllegalArgumentException("Panel " + p + " overlaps another panel");
+                }
+                assigned[pixel] = true;
+                positions[pixel] = p * panelSize + k;
+            }
+        }
+    }
+
+    /**
+     * A single panel with rows wired in serpentine order, starting top left. That's the layout of most LED matrices.
+     *
+     * @param rows    number of rows
+     * @param columns number of columns
+     * @return the topology
+     */
+    public static LedMatrixTopology serpentine(int rows, int columns) {
+        return newBuilder(rows, columns).build();
+    }
+
+    /**
+     * Starts building a topology, by default consisting of a single panel with serpentine rows.
+     *
+     * @param panelRows    number of rows of a single panel, as wired
+     * @param panelColumns number of columns of a single panel, as wired
+     * @return the builder
+     */
+    public static Builder newBuilder(int panelRows, int panelColumns) {
+        return new Builder(panelRows, panelColumns);
+    }
+
+    /**
+     * @return number of rows of the whole canvas
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return number of columns of the whole canvas
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return number of LEDs needed on the strip
+     */
+    public int getNumPixels() {
+        return positions.length;
+    }
+
+    /**
+     * @param row    row on the canvas, starting with 0
+     * @param column column on the canvas, starting with 0
+     * @return position of the LED on the strip
+     */
+    public int getPosition(int row, int column) {
+        Objects.checkIndex(row, rows);
+        Objects.checkIndex(column, columns);
+
+        return positions[row * columns + column];
+    }
+
+    /**
+     * The compiled table, shared with {@link LedMatrix}. Must not be modified.
+     */
+    int[] positions() {
+        return positions;
+    }
+
+    /**
+     * How the strip runs through a single panel, always starting in the top left corner of the unrotated panel.
+     * <p>
+     * The following wirings can be used
+     * {@link #ROWS_PROGRESSIVE}
+     * {@link #ROWS_SERPENTINE}
+     * {@link #COLUMNS_PROGRESSIVE}
+     * {@link #COLUMNS_SERPENTINE}
+     */
+    public enum Wiring {
+        /**
+         * Row by row, every row from left to right
+         */
+        ROWS_PROGRESSIVE(true, false),
+        /**
+         * Row by row, every second row from right to left
+         */
+        ROWS_SERPENTINE(true, true),
+        /**
+         * Column by column, every column from top to bottom
+         */
+        COLUMNS_PROGRESSIVE(false, false),
+        /**
+         * Column by column, every second column from bottom to top
+         */
+        COLUMNS_SERPENTINE(false, true);
+
+        private final boolean rowWise;
+        private final boolean serpentine;
+
+        Wiring(boolean rowWise, boolean serpentine) {
+            this.rowWise    = rowWise;
+            this.serpentine = serpentine;
+        }
+    }
+
+    /**
+     * Clockwise rotation of a panel, as mounted on the canvas
+     */
+    public enum Rotation {
+        NONE, CLOCKWISE_90, CLOCKWISE_180, CLOCKWISE_270
+    }
+
+    /**
+     * Placement of a panel on the canvas
+     */
+    private record Panel(int tileRow, int tileColumn, Rotation rotation, boolean flipHorizontal, boolean flipVertical) {
+
+        int rotatedWidth(Builder builder) {
+            return rotation == Rotation.CLOCKWISE_90 || rotation == Rotation.CLOCKWISE_270 ? builder.panelRows : builder.panelColumns;
+        }
+
+        /**
+         * Converts the k-th LED of the panel to its index on the canvas
+         */
+        int pixelOnCanvas(Builder builder, int k, int tileHeight, int tileWidth, int canvasColumns) {
+            int panelRows    = builder.panelRows;
+            int panelColumns = builder.panelColumns;
+            int line;
+            int pos;
+            if (builder.wiring.rowWise) {
+                line = k / panelColumns;
+                pos  = k % panelColumns;
+            } else {
+                line = k / panelRows;
+                pos  = k % panelRows;
+            }
+            int lineLength = builder.wiring.rowWise ? panelColumns : panelRows;
+            if (builder.wiring.serpentine && line % 2 == 1) {
+                pos = lineLength - 1 - pos;
+            }
+            int r = builder.wiring.rowWise ? line : pos;
+            int c = builder.wiring.rowWise ? pos : line;
+
+            if (flipHorizontal) {
+                c = panelColumns - 1 - c;
+            }
+            if (flipVertical) {
+                r = panelRows - 1 - r;
+            }
+
+            int rotatedRow;
+            int rotatedColumn;
+            switch (rotation) {
+                case CLOCKWISE_90 -> {
+                    rotatedRow    = c;
+                    rotatedColumn = panelRows - 1 - r;
+                }
+                case CLOCKWISE_180 -> {
+                    rotatedRow    = panelRows - 1 - r;
+                    rotatedColumn = panelColumns - 1 - c;
+                }
+                case CLOCKWISE_270 -> {
+                    rotatedRow    = panelColumns - 1 - c;
+                    rotatedColumn = r;
+                }
+                default -> {
+                    rotatedRow    = r;
+                    rotatedColumn = c;
+                }
+            }
+
+            return (tileRow * tileHeight + rotatedRow) * canvasColumns + tileColumn * tileWidth + rotatedColumn;
+        }
+    }
+
+    /**
+     * Builder Pattern to create a topology
+     * <p>
+     * Panels are chained on the strip in the order they are added. If no panel is added, the tiles are filled row by
+     * row with unrotated panels.
+     */
+    public static class Builder {
+        private final int panelRows;
+        private final int panelColumns;
+        private Wiring wiring = Wiring.ROWS_SERPENTINE;
+        private int tileRows = 1;
+        private int tileColumns = 1;
+        private final List<Panel> panels = new ArrayList<>();
+
+        private Builder(int panelRows, int panelColumns) {
+            if (panelRows < 1 || panelColumns < 1) {
+                throw new IllegalArgumentException("Panel needs at least one row and one column");
+            }
+            this.panelRows    = panelRows;
+            this.panelColumns = panelColumns;
+        }
+
+        /**
+         * @param wiring how the strip runs through each panel
+         */
+        public Builder wiring(Wiring wiring) {
+            this.wiring = Objects.requireNonNull(wiring);
+            return this;
+        }
+
+        /**
+         * @param tileRows    number of panels on top of each other
+         * @param tileColumns number of panels side by side
+         */
+        public Builder tiles(int tileRows, int tileColumns) {
+            if (tileRows < 1 || tileColumns < 1) {
+                throw new IllegalArgumentException("Need at least one tile");
+            }
+            this.tileRows    = tileRows;
+            this.tileColumns = tileColumns;
+            return this;
+        }
+
+        /**
+         * Adds the next panel on the strip, unrotated
+         *
+         * @param tileRow    row of the tile the panel is mounted on
+         * @param tileColumn column of the tile the panel is mounted on
+         */
+        public Builder panel(int tileRow, int tileColumn) {
+            return panel(tileRow, tileColumn, Rotation.NONE, false, false);
+        }
+
+        /**
+         * Adds the next panel on the strip. The flips are applied first, then the panel is rotated.
+         *
+         * @param tileRow        row of the tile the panel is mounted on
+         * @param tileColumn     column of the tile the panel is mounted on
+         * @param rotation       clockwise rotation of the panel
+         * @param flipHorizontal true if the panel is mirrored left to right
+         * @param flipVertical   true if the panel is mirrored top to bottom
+         */
+        public Builder panel(int tileRow, int tileColumn, Rotation rotation, boolean flipHorizontal, boolean flipVertical) {
+            panels.add(new Panel(tileRow, tileColumn, Objects.requireNonNull(rotation), flipHorizontal, flipVertical));
+            return this;
+        }
+
+        public LedMatrixTopology build() {
+            for (Panel panel : panels) {
+                Objects.checkIndex(panel.tileRow(), tileRows);
+                Objects.checkIndex(panel.tileColumn(), tileColumns);
+            }
+            return new LedMatrixTopology(this);
+        }
+
+        /**
+         * The size of a tile is given by the first panel
+         */
+        private int tileHeight() {
+            return panels.isEmpty() ? panelRows : panelRows * panelColumns / panels.get(0).rotatedWidth(this);
+        }
+
+        private int tileWidth() {
+            return panels.isEmpty() ? panelColumns : panels.get(0).rotatedWidth(this);
+        }
+
+        private List<Panel> defaultPanels() {
+            List<Panel> defaultPanels = new ArrayList<>();
+            for (int row = 0; row < tileRows; row++) {
+                for (int col = 0; col < tileColumns; col++) {
+                    defaultPanels.add(new Panel(row, col, Rotation.NONE, false, false));
+                }
+            }
+            return defaultPanels;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.pi4j.catalog.components;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.pi4j.catalog.components.base.Component;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
+
+/**
+ * Plays raw video on a {@link LedMatrix}.
+ * <p>
+ * The video consists of RGB24 frames (3 bytes per pixel, row by row, no header), e.g. created by an external decoder
+ * like {@code ffmpeg -i video.mp4 -f rawvideo -pix_fmt rgb24 -s 64x32 video.rgb}. It can be read from a file or a
+ * named pipe.
+ * <p>
+ * Each LED shows the average color of its area of the source frame. The areas are calculated once, the frames are read
+ * into one reusable buffer, so no memory is allocated per frame. If the matrix can't keep up with the frame rate of the
+ * video, frames are skipped instead of lagging behind.
+ * <p>
+ * To use a single LED strip, wrap it in a matrix with one row.
+ */
+public class LedMatrixVideo extends Component {
+    private static final int BYTES_PER_PIXEL = 3;
+
+    private final LedMatrix matrix;
+    private final int sourceColumns;
+
+    /**
+     * Area of the source frame covered by each column and row of the matrix, end exclusive
+     */
+    private final int[] fromColumn;
+    private final int[] toColumn;
+    private final int[] fromRow;
+    private final int[] toRow;
+
+    private final ByteBuffer frameBuffer;
+    private final int[] frame;
+
+    private volatile ReadableByteChannel source;
+    private boolean seekable;
+    private volatile FixedRateScheduler player;
+    private long framesRead;
+    private volatile long skippedFrames;
+
+    /**
+     * Creates a new video player for the given size of the source frames
+     *
+     * @param matrix        the matrix to play the video on
+     * @param sourceColumns width of the source frames in pixels
+     * @param sourceRows    height of the source frames in pixels
+     */
+    public LedMatrixVideo(LedMatrix matrix, int sourceColumns, int sourceRows) {
+        if (sourceColumns < 1 || sourceRows < 1) {
+            throw new IllegalArgumentException("Illegal frame size");
+        }
+        this.matrix = matrix;
+        this.sourceColumns = sourceColumns;
+
+        int columns = matrix.getColumns();
+        int rows    = matrix.getRows();
+        fromColumn = new int[columns];
+        toColumn   = new int[columns];
+        fromRow    = new int[rows];
+        toRow      = new int[rows];
+        areas(sourceColumns, fromColumn, toColumn);
+        areas(sourceRows, fromRow, toRow);
+
+        frameBuffer = ByteBuffer.allocateDirect(sourceColumns * sourceRows * BYTES_PER_PIXEL);
+        frame       = new int[columns * rows];
+    }
+
+    /**
+     * Splits the source into one area per LED. Each area covers at least one source pixel.
+     */
+    private static void areas(int sourceSize, int[] from, int[] to) {
+        int size = from.length;
+        for (int i = 0; i < size; i++) {
+            from[i] = (int) ((long) i * sourceSize / size);
+            to[i]   = Math.max(from[i] + 1, (int) ((long) (i + 1) * sourceSize / size));
+        }
+    }
+
+    /**
+     * Plays a video file or named pipe at the given frame rate. A running video or animation of the matrix is stopped
+     * first.
+     *
+     * @param file            the raw RGB24 video
+     * @param framesPerSecond frame rate of the video
+     * @return the scheduler playing the video, provides statistics about the frame rate
+     */
+    public FixedRateScheduler play(Path file, double framesPerSecond) {
+        try {
+            // a named pipe is opened as FileChannel too, but can't seek
+            return play(FileChannel.open(file, StandardOpenOption.READ), framesPerSecond, Files.isRegularFile(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't open video " + file, e);
+        }
+    }
+
+    /**
+     * Plays a video from the given channel at the given frame rate. The channel is closed at the end of the video or
+     * if the video is stopped.
+     *
+     * @param channel         delivers the raw RGB24 frames
+     * @param framesPerSecond frame rate of the video
+     * @return the scheduler playing the video, provides statistics about the frame rate
+     */
+    public FixedRateScheduler play(ReadableByteChannel channel, double framesPerSecond) {
+        return play(channel, framesPerSecond, channel instanceof SeekableByteChannel);
+    }
+
+    private FixedRateScheduler play(ReadableByteChannel channel, double framesPerSecond, boolean seekable) {
+        stop();
+        source = channel;
+        this.seekable = seekable;
+        framesRead = 0;
+        skippedFrames = 0;
+        player = matrix.animate(framesPerSecond, this::showFrame);
+        logDebug("Video started");
+
+        return player;
+    }
+
+    /**
+     * Stops the video, if playing. Another animation started on the matrix in the meantime keeps running.
+     */
+    public void stop() {
+        FixedRateScheduler running = player;
+        if (running != null) {
+            player = null;
+            matrix.stopAnimation(running);
+        }
+        closeSource();
+    }
+
+    public boolean isPlaying() {
+        return player != null && player.isRunning();
+    }
+
+    /**
+     * @return number of frames not shown because the matrix couldn't keep up
+     */
+    public long getSkippedFrames() {
+        return skippedFrames;
+    }
+
+    @Override
+    public void reset() {
+        stop();
+        super.reset();
+    }
+
+    /**
+     * Shows a single frame on the matrix. Call {@link LedMatrix#render(java.time.Duration)} afterwards.
+     *
+     * @param rgb one RGB24 frame of the source size, starting at index 0
+     */
+    public void drawFrame(ByteBuffer rgb) {
+        int columns = fromColumn.length;
+        for (int row = 0; row < fromRow.length; row++) {
+            for (int col = 0; col < columns; col++) {
+                int red = 0;
+                int green = 0;
+                int blue = 0;
+                for (int y = fromRow[row]; y < toRow[row]; y++) {
+                    int index = (y * sourceColumns + fromColumn[col]) * BYTES_PER_PIXEL;
+                    for (int x = fromColumn[col]; x < toColumn[col]; x++) {
+                        red   += rgb.get(index)     & 0xFF;
+                        green += rgb.get(index + 1) & 0xFF;
+                        blue  += rgb.get(index + 2) & 0xFF;
+                        index += BYTES_PER_PIXEL;
+                    }
+                }
+                int pixels = (toRow[row] - fromRow[row]) * (toColumn[col] - fromColumn[col]);
+                frame[row * columns + col] = (red / pixels) << 16 | (green / pixels) << 8 | (blue / pixels);
+            }
+        }
+        matrix.drawFrame(frame);
+    }
+
+    /**
+     * Called by the scheduler for each frame of the video, the matrix is rendered afterwards
+     */
+    private void showFrame(long frameNumber) {
+        try {
+            // frames dropped by the scheduler are skipped in the video as well
+            if (frameNumber > framesRead) {
+                skip(frameNumber - framesRead);
+            }
+            if (!readFrame()) {
+                logDebug("End of video after %d frames", framesRead);
+                stop();
+                return;
+            }
+            drawFrame(frameBuffer);
+        } catch (IOException e) {
+            logException("Can't read video", e);
+            stop();
+        }
+    }
+
+    private void skip(long frames) throws IOException {
+        skippedFrames += frames;
+        if (seekable) {
+            SeekableByteChannel channel = (SeekableByteChannel) source;
+            channel.position(channel.position() + frames * frameBuffer.capacity());
+            framesRead += frames;
+        } else {
+            // a pipe can't seek, the frames are read without decoding them
+            for (long i = 0; i < frames && readFrame(); i++) {
+            }
+        }
+    }
+
+    /**
+     * Reads the next complete frame into the frame buffer
+     *
+     * @return false at the end of the video
+     */
+    private boolean readFrame() throws IOException {
+        frameBuffer.clear();
+        while (frameBuffer.hasRemaining()) {
+            if (source.read(frameBuffer) < 0) {
+                return false;
+            }
+        }
+        framesRead++;
+        return true;
+    }
+
+    private void closeSource() {
+        ReadableByteChannel channel = source;
+        if (channel != null) {
+            source = null;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logException("Can't close video", e);
+            }
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.pi4j.catalog.components;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongConsumer;
 
 import com.pi4j.context.Context;
 import com.pi4j.io.spi.Spi;
 import com.pi4j.io.spi.SpiBus;
 
 import com.pi4j.catalog.components.base.SpiDevice;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
 
 /**
  * Creates an SPI Control for a Neopixel LED Strip
@@ -30,6 +40,10 @@ public class LedStrip extends SpiDevice {
      */
     private static final int DEFAULT_FREQUENCY_PI3 = 800_000;   //use this for a Pi4
     private static final int DEFAULT_FREQUENCY_PI4 = 500_000;   //use this for a Pi4
+    /**
+     * Data rate of a WS2812, a bit lasts 1.25µs
+     */
+    private static final int WS2812_BIT_RATE = 800_000;
     /**
      * the conversion from bit's of an integer to a byte
      * we can write on the SPI
@@ -37,20 +51,98 @@ public class LedStrip extends SpiDevice {
     private static final byte Bit_0     = (byte) 0b11000000;// 192 in Decimal
     private static final byte Bit_1     = (byte) 0b11111000;// 248 in Decimal
     private static final byte Bit_Reset = (byte) 0b00000000;// 0 in Decimal
+    /**
+     * the conversion from a bit of an integer to three bits on the SPI, used by {@link Encoding#THREE_BITS_PER_BIT}
+     */
+    private static final int Bits_0 = 0b100;
+    private static final int Bits_1 = 0b110;
+    /**
+     * A recorded animation starts with 'LEDS' followed by the size of a frame
+     */
+    private static final int RECORDING_MAGIC       = 0x4C454453;
+    private static final int RECORDING_HEADER_SIZE = 8;
     /**
      * The amount of  LEDs
      */
     private final int numberOfLEDs;
 
+    /**
+     * How the bits are converted to SPI data, not used by subclasses with their own {@link #encodeFrame(int[], byte[])}
+     */
+    private final Encoding encoding;
+
     /**
      * The array of all pixels
      */
     private final int[] ledColors;
 
     /**
-     * Brightness value between 0 and 1
+     * Temporary copy of pixels needed to rotate the strip
+     */
+    private final int[] rotationBuffer;
+
+    /**
+     * The raw data sent to the SPI, reused for every frame
+     */
+    private final byte[] pixelRaw;
+
+    /**
+     * Brightness value between 0 and 1. Volatile, as it's read by the render thread for some LED chips.
+     */
+    private volatile double maxBrightness;
+
+    /**
+     * Gamma used for perceptual correction, 1.0 means no correction
+     */
+    private double gamma = 1.0;
+
+    /**
+     * Maps every color component to its value for the current brightness and gamma.
+     * Rebuilt only if one of them changes.
+     */
+    private final int[] colorTable = new int[LedColor.Color_COMPONENT_MAX + 1];
+
+    /**
+     * Set whenever a pixel or the brightness changed since the last transfer to the strip
+     */
+    private boolean dirty = true;
+
+    /**
+     * Held while a frame is sent to the strip, so frames of a replay, the render thread and {@link #render(Duration)}
+     * can't interleave on the SPI. Never wait for the strip itself while holding it.
+     */
+    private final Object spiLock = new Object();
+
+    /**
+     * The currently running animation or replay, if any
+     */
+    private volatile FixedRateScheduler animation;
+
+    /**
+     * The thread sending the published frames to the strip, only running in asynchronous render mode
+     */
+    private Thread asyncRenderer;
+
+    /**
+     * Set to let the render thread end once the pending frame is sent
+     */
+    private boolean asyncRenderingStopping;
+
+    /**
+     * Snapshot of the pixels published by {@link #render(Duration)} and the one currently sent by the render thread.
+     * The two buffers are swapped, so no frame needs to be allocated.
      */
-    private double maxBrightness;
+    private int[] pendingFrame;
+    private int[] renderingFrame;
+
+    /**
+     * Set if a published frame hasn't been taken by the render thread yet
+     */
+    private boolean framePending;
+
+    private long publishedFrames;
+    private long renderedFrames;
+    private long droppedFrames;
 
     /**
      * Creates a new simpleLed component with a custom BCM pin.
@@ -71,19 +163,57 @@ public class LedStrip extends SpiDevice {
      * @param channel which channel to use
      */
     public LedStrip(Context pi4j, int numberOfLEDs, double maxBrightness, int channel) {
+        this(pi4j, numberOfLEDs, maxBrightness, channel, Encoding.BYTE_PER_BIT);
+    }
+
+    /**
+     * Creates a new LedStrip component with a custom encoding.
+     *
+     * @param pi4j Pi4J context
+     * @param numberOfLEDs How many LEDs are on this strand
+     * @param maxBrightness How bright the leds can be at max, range 0 - 1
+     * @param channel which channel to use
+     * @param encoding how the bits are converted to SPI data
+     */
+    public LedStrip(Context pi4j, int numberOfLEDs, double maxBrightness, int channel, Encoding encoding) {
+        this(pi4j, numberOfLEDs, maxBrightness, channel, encoding,
+             encoding.spiClock, //bit-banging from Bit to SPI-Bits
+             // While bit-banging, the first and last byte have to be a reset
+             3 * encoding.bytesPerColorByte * numberOfLEDs + 2);
+    }
+
+    /**
+     * Creates a new LED strip for a different kind of LED chip. The subclass has to encode the frames by overriding
+     * {@link #encodeFrame(int[], byte[])}.
+     *
+     * @param pi4j Pi4J context
+     * @param numberOfLEDs How many LEDs are on this strand
+     * @param maxBrightness How bright the leds can be at max, range 0 - 1
+     * @param channel which channel to use
+     * @param baud SPI clock frequency
+     * @param frameSize number of bytes sent to the SPI for a whole strip
+     */
+    protected LedStrip(Context pi4j, int numberOfLEDs, double maxBrightness, int channel, int baud, int frameSize) {
+        this(pi4j, numberOfLEDs, maxBrightness, channel, null, baud, frameSize);
+    }
+
+    private LedStrip(Context pi4j, int numberOfLEDs, double maxBrightness, int channel, Encoding encoding, int baud, int frameSize) {
         super(pi4j,
               Spi.newConfigBuilder(pi4j)
                         .id("SPI-" + channel)
                         .bus(SpiBus.BUS_1)
                         .name("LED Strip")
                         .address(channel)
-                        .baud(8 * DEFAULT_FREQUENCY_PI4) //bit-banging from Bit to SPI-Byte
+                        .baud(baud)
                         .build());
         if (numberOfLEDs < 1 || maxBrightness < 0 || maxBrightness > 1 || channel < 0 || channel > 1) {
             throw new IllegalArgumentException("Illegal Constructor");
         }
         this.numberOfLEDs = numberOfLEDs;
+        this.encoding = encoding;
         ledColors = new int[numberOfLEDs];
+        rotationBuffer = new int[numberOfLEDs];
+        pixelRaw = new byte[frameSize];
 
         setMaxBrightness(0.01);
         blink(LedColor.ORANGE, Duration.ofMillis(200), 2);
@@ -106,13 +236,183 @@ public class LedStrip extends SpiDevice {
         }
     }
 
+    /**
+     * Starts an animation running at a fixed frame rate in its own thread.
+     * <p>
+     * For each frame {@code onFrame} is called to set the pixels, afterwards the strip is rendered. The frames are
+     * scheduled on deadlines, so the time needed for rendering doesn't slow down the animation. If rendering takes
+     * too long, frames are dropped. Use the frame number passed to {@code onFrame} to calculate the pixels, then the
+     * animation still runs at the right speed.
+     * <p>
+     * A running animation is stopped first.
+     *
+     * @param framesPerSecond the target frame rate
+     * @param onFrame         sets the pixels for the given frame number
+     * @return the scheduler running the animation, provides statistics about the frame rate and dropped frames
+     */
+    public FixedRateScheduler animate(double framesPerSecond, LongConsumer onFrame) {
+        stopAnimation();
+        animation = new FixedRateScheduler("LedStripAnimation", framesPerSecond, (frame) -> {
+            onFrame.accept(frame);
+            render(Duration.ZERO);
+        });
+        animation.start();
+
+        return animation;
+    }
+
+    /**
+     * Stops the running animation, if any
+     */
+    public void stopAnimation() {
+        FixedRateScheduler running = animation;
+        if (running != null) {
+            animation = null;
+            running.stop();
+        }
+    }
+
+    /**
+     * Stops the given animation or replay. An animation started after it keeps running.
+     *
+     * @param scheduler as returned by {@link #animate(double, LongConsumer)} or {@link #replay(Path, double, boolean)}
+     */
+    public void stopAnimation(FixedRateScheduler scheduler) {
+        if (animation == scheduler) {
+            animation = null;
+        }
+        scheduler.stop();
+    }
+
+    /**
+     * Records an animation to a file, so it can be replayed later with {@link #replay(Path, double, boolean)}.
+     * <p>
+     * For each frame {@code onFrame} is called to set the pixels, then the encoded frame is written to the file.
+     * Nothing is sent to the strip. The current brightness and gamma correction are recorded as well.
+     *
+     * @param file    the file to write, an existing one is replaced
+     * @param frames  number of frames to record
+     * @param onFrame sets the pixels for the given frame number
+     */
+    public void recordAnimation(Path file, int frames, LongConsumer onFrame) {
+        if (frames < 1) {
+            throw new IllegalArgumentException("At least one frame must be recorded");
+        }
+        byte[] frame = new byte[pixelRaw.length];
+        ByteBuffer frameBuffer = ByteBuffer.wrap(frame);
+        ByteBuffer header = ByteBuffer.allocate(RECORDING_HEADER_SIZE)
+                .putInt(RECORDING_MAGIC)
+                .putInt(frame.length)
+                .flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            for (int i = 0; i < frames; i++) {
+                onFrame.accept(i);
+                synchronized (this) {
+                    encodeFrame(ledColors, frame);
+                }
+                frameBuffer.clear();
+                writeFully(channel, frameBuffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't record animation to " + file, e);
+        }
+        logDebug("Recorded %d frames to %s", frames, file);
+    }
+
+    /**
+     * Replays an animation recorded with {@link #recordAnimation(Path, int, LongConsumer)} at a fixed frame rate in
+     * its own thread.
+     * <p>
+     * The file is memory-mapped and the frames are sent to the strip as they were recorded, no colors are calculated or
+     * encoded. Each frame is copied from the mapping into one reused array first, as the SPI of Pi4J only writes heap
+     * arrays, but no memory is allocated per frame. Therefore, even a Pi Zero can replay long animations with almost
+     * no CPU load.
+     * <p>
+     * A running animation or replay is stopped first. Use {@link #stopAnimation()} to stop the replay.
+     *
+     * @param file            the recorded animation
+     * @param framesPerSecond the target frame rate
+     * @param loop            true to start over after the last frame, otherwise the replay stops there
+     * @return the scheduler running the replay, provides statistics about the frame rate and dropped frames
+     */
+    public FixedRateScheduler replay(Path file, double framesPerSecond, boolean loop) {
+        MappedByteBuffer recording = mapRecording(file);
+        int frameSize = pixelRaw.length;
+        int frames = (recording.capacity() - RECORDING_HEADER_SIZE) / frameSize;
+        byte[] frame = new byte[frameSize];
+
+        stopAnimation();
+        synchronized (this) {
+            //the strip doesn't show the pixels anymore
+            dirty = true;
+        }
+        FixedRateScheduler replay = new FixedRateScheduler("LedStripReplay", framesPerSecond, (cycle) -> {
+            if (!loop && cycle >= frames) {
+                stopAnimation();
+                return;
+            }
+            //Spi.write(ByteBuffer) needs a backing array, a mapped buffer has none
+            recording.get(RECORDING_HEADER_SIZE + (int) (cycle % frames) * frameSize, frame);
+            synchronized (this) {
+                //a frame rendered in the meantime is replaced by the replay
+                dirty = true;
+            }
+            send(frame);
+        });
+        animation = replay;
+        replay.start();
+        logDebug("Replaying %d frames from %s", frames, file);
+
+        return replay;
+    }
+
+    /**
+     * Maps a recorded animation into memory and checks if it fits this strip
+     */
+    private MappedByteBuffer mapRecording(Path file) {
+        MappedByteBuffer recording;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Recording too large: " + file);
+            }
+            // the mapping stays valid after the channel is closed
+            recording = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read recorded animation " + file, e);
+        }
+
+        int frameSize = pixelRaw.length;
+        if (recording.capacity() < RECORDING_HEADER_SIZE || recording.getInt(0) != RECORDING_MAGIC) {
+            throw new IllegalArgumentException("Not a recorded animation: " + file);
+        }
+        if (recording.getInt(4) != frameSize) {
+            throw new IllegalArgumentException("Recorded for a different strip, frame size is " + recording.getInt(4) + " instead of " + frameSize);
+        }
+        int frameData = recording.capacity() - RECORDING_HEADER_SIZE;
+        if (frameData == 0 || frameData % frameSize != 0) {
+            throw new IllegalArgumentException("Recording is empty or truncated: " + file);
+        }
+
+        return recording;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
     /**
      * Setting all LEDS off and closing the strip
      */
     @Override
     public void reset() {
+        stopAnimation();
+        stopAsyncRendering();
         allOff();
-        render(Duration.ZERO);
+        render(Duration.ZERO, true);
         super.reset();
     }
 
@@ -141,8 +441,12 @@ public class LedStrip extends SpiDevice {
      * @param pixel which position on the strip, range 0 - numLEDS-1
      * @param color the color that is set
      */
-    public void setPixelColor(int pixel, int color) {
-        ledColors[pixel] = LedColor.scaleColorToBrightness(color, maxBrightness);
+    public synchronized void setPixelColor(int pixel, int color) {
+        int dimmedColor = LedColor.scaleColor(color, colorTable);
+        if (ledColors[pixel] != dimmedColor) {
+            ledColors[pixel] = dimmedColor;
+            dirty = true;
+        }
     }
 
     /**
@@ -150,16 +454,120 @@ public class LedStrip extends SpiDevice {
      *
      * @param color the color that is set
      */
-    public void setStripColor(int color) {
-        int dimmedColor = LedColor.scaleColorToBrightness(color, maxBrightness);
+    public synchronized void setStripColor(int color) {
+        int dimmedColor = LedColor.scaleColor(color, colorTable);
         Arrays.fill(ledColors, dimmedColor);
+        dirty = true;
+    }
+
+    /**
+     * Setting the colors of consecutive LEDs, starting at the given pixel.
+     *
+     * @param firstPixel position of the first LED to set
+     * @param colors     the colors to set, one per LED
+     */
+    public void setPixelColors(int firstPixel, int[] colors) {
+        setPixelColors(firstPixel, colors, 0, colors.length);
+    }
+
+    /**
+     * Setting the colors of consecutive LEDs to a range of the given colors.
+     *
+     * @param firstPixel position of the first LED to set
+     * @param colors     the colors to set, one per LED
+     * @param offset     index of the first color to use
+     * @param length     number of LEDs to set
+     */
+    public synchronized void setPixelColors(int firstPixel, int[] colors, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, colors.length);
+        Objects.checkFromIndexSize(firstPixel, length, numberOfLEDs);
+        for (int i = 0; i < length; i++) {
+            ledColors[firstPixel + i] = LedColor.scaleColor(colors[offset + i], colorTable);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Setting a rectangle of colors to the LEDs given by a table of positions, used by {@link LedMatrix}.
+     * <p>
+     * The color at {@code colorIndex + y * colorStride + x} is set to the LED at
+     * {@code positions[positionIndex + y * positionStride + x]}. Brightness and mapping are applied in one loop.
+     * The caller is responsible for valid indices.
+     *
+     * @param transparent      true to skip all colors equal to {@code transparentColor}
+     * @param transparentColor the color not set if {@code transparent} is true
+     */
+    synchronized void setPixelColors(int[] positions, int positionIndex, int positionStride,
+                                     int[] colors, int colorIndex, int colorStride,
+                                     int height, int width, boolean transparent, int transparentColor) {
+        for (int y = 0; y < height; y++) {
+            int position = positionIndex + y * positionStride;
+            int index    = colorIndex + y * colorStride;
+            for (int x = 0; x < width; x++) {
+                int color = colors[index + x];
+                if (!transparent || color != transparentColor) {
+                    ledColors[positions[position + x]] = LedColor.scaleColor(color, colorTable);
+                }
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Setting a range of LEDs to the same color
+     *
+     * @param fromPixel first LED to set (inclusive)
+     * @param toPixel   last LED to set (exclusive)
+     * @param color     the color that is set
+     */
+    public synchronized void fillPixels(int fromPixel, int toPixel, int color) {
+        Objects.checkFromToIndex(fromPixel, toPixel, numberOfLEDs);
+        Arrays.fill(ledColors, fromPixel, toPixel, LedColor.scaleColor(color, colorTable));
+        dirty = true;
+    }
+
+    /**
+     * Rotates all pixels along the strip. Pixels moved out at one end come in at the other end again.
+     *
+     * @param distance number of LEDs to move, positive values move towards the end of the strip
+     */
+    public synchronized void rotate(int distance) {
+        int k = Math.floorMod(distance, numberOfLEDs);
+        if (k == 0) {
+            return;
+        }
+        System.arraycopy(ledColors, numberOfLEDs - k, rotationBuffer, 0, k);
+        System.arraycopy(ledColors, 0, ledColors, k, numberOfLEDs - k);
+        System.arraycopy(rotationBuffer, 0, ledColors, 0, k);
+        dirty = true;
+    }
+
+    /**
+     * Shifts all pixels along the strip. Pixels moved out at one end are lost, the LEDs at the other end are set to
+     * the given color.
+     *
+     * @param distance number of LEDs to move, positive values move towards the end of the strip
+     * @param color    the color of the LEDs that become free
+     */
+    public synchronized void shift(int distance, int color) {
+        int k = Math.min(Math.abs(distance), numberOfLEDs);
+        int dimmedColor = LedColor.scaleColor(color, colorTable);
+        if (distance > 0) {
+            System.arraycopy(ledColors, 0, ledColors, k, numberOfLEDs - k);
+            Arrays.fill(ledColors, 0, k, dimmedColor);
+        } else {
+            System.arraycopy(ledColors, k, ledColors, 0, numberOfLEDs - k);
+            Arrays.fill(ledColors, numberOfLEDs - k, numberOfLEDs, dimmedColor);
+        }
+        dirty = true;
     }
 
     /**
      * setting all LEDs off
      */
-    public void allOff() {
+    public synchronized void allOff() {
         Arrays.fill(ledColors, 0);
+        dirty = true;
     }
 
     /**
@@ -174,11 +582,38 @@ public class LedStrip extends SpiDevice {
      *
      * @param maxBrightness new max. brightness, range 0 - 1
      */
-    public void setMaxBrightness(double maxBrightness) {
+    public synchronized void setMaxBrightness(double maxBrightness) {
         if (maxBrightness < 0 || maxBrightness > 1) {
             throw new IllegalArgumentException("Illegal Brightness Value. Must be between 0 and 1");
         }
-        this.maxBrightness = maxBrightness;
+        if (this.maxBrightness != maxBrightness) {
+            this.maxBrightness = maxBrightness;
+            LedColor.fillColorTable(colorTable, colorTableBrightness(), gamma);
+            dirty = true;
+        }
+    }
+
+    /**
+     * @return true if gamma correction is enabled
+     */
+    public boolean isGammaCorrection() {
+        return gamma != 1.0;
+    }
+
+    /**
+     * Enables or disables the perceptual gamma correction.
+     * <p>
+     * The human eye doesn't perceive brightness linearly. With gamma correction enabled, the colors set afterwards
+     * are corrected, so that dim colors and fading animations look smoother.
+     *
+     * @param enabled true to enable gamma correction
+     */
+    public synchronized void setGammaCorrection(boolean enabled) {
+        double newGamma = enabled ? LedColor.GAMMA : 1.0;
+        if (gamma != newGamma) {
+            gamma = newGamma;
+            LedColor.fillColorTable(colorTable, colorTableBrightness(), gamma);
+        }
     }
 
 
@@ -190,49 +625,303 @@ public class LedStrip extends SpiDevice {
      * \_____________________________________________________________________/ |
      * _________________... | / __________________... | / / ___________________... |
      * / / / GRB,GRB,GRB,GRB,...
+     * <p>
+     * If neither a pixel nor the brightness changed since the last transfer, nothing is sent to the strip.
+     * <p>
+     * In asynchronous render mode the pixels are just published to the render thread, see
+     * {@link #startAsyncRendering()}.
+     *
+     * @param idlePeriod time to wait after rendering
      */
     public void render(Duration idlePeriod) {
-        //beginning at 1, because the first byte is a reset
-        int counter = 1;
-        /*
-         * The raw-data of all pixels, each int of LEDs is split into bits and converted to bytes to write
-         */
-       final int numberOfBitsForLeds = 3 * 8 * numberOfLEDs;
-       final byte[] pixelRaw = new byte[numberOfBitsForLeds + 2];
-        for (int i = 0; i < numberOfLEDs; i++) {
-            // Calculating GRB from RGB
-            for (int j = 15; j >= 8; j--) {
-                if (((ledColors[i] >> j) & 1) == 1) {
-                    pixelRaw[counter++] = Bit_1;
-                } else {
-                    pixelRaw[counter++] = Bit_0;
-                }
+        render(idlePeriod, false);
+    }
+
+    /**
+     * Same as {@link #render(Duration)} but can force the transfer to the strip even if nothing changed,
+     * e.g. to recover from a glitch on the data line.
+     *
+     * @param idlePeriod   time to wait after rendering
+     * @param forceRefresh send the pixels even if nothing changed since the last transfer
+     */
+    public void render(Duration idlePeriod, boolean forceRefresh) {
+        synchronized (this) {
+            if (!dirty && !forceRefresh) {
+                logDebug("LED strip unchanged, rendering skipped");
+            } else if (asyncRenderer != null) {
+                publishFrame();
+            } else {
+                transfer();
             }
-            for (int j = 23; j >= 16; j--) {
-                if (((ledColors[i] >> j) & 1) == 1) {
-                    pixelRaw[counter++] = Bit_1;
-                } else {
-                    pixelRaw[counter++] = Bit_0;
-                }
+        }
+
+        delay(idlePeriod);
+    }
+
+    /**
+     * Switches to asynchronous render mode.
+     * <p>
+     * Afterwards {@link #render(Duration)} doesn't wait for the encoding and the transfer to the strip anymore. It
+     * just publishes a snapshot of the pixels and a dedicated thread sends it to the strip. If the thread is still
+     * busy with the previous frame, only the newest published frame is sent, older ones are dropped.
+     * <p>
+     * Use it if the strip must not slow down e.g. reading sensors. Does nothing if the mode is active already.
+     */
+    public synchronized void startAsyncRendering() {
+        if (asyncRenderer != null) {
+            return;
+        }
+        if (pendingFrame == null) {
+            pendingFrame   = new int[numberOfLEDs];
+            renderingFrame = new int[numberOfLEDs];
+        }
+        asyncRenderer = new Thread(this::renderPublishedFrames, "LedStripRenderer");
+        asyncRenderer.setDaemon(true);
+        asyncRenderer.start();
+        logDebug("Asynchronous rendering started");
+    }
+
+    /**
+     * Switches back to rendering in the calling thread. A frame still pending is sent to the strip first.
+     * <p>
+     * Frames rendered until the render thread has ended are still published to it, so they are never encoded by two
+     * threads at the same time.
+     */
+    public void stopAsyncRendering() {
+        Thread renderer;
+        synchronized (this) {
+            renderer = asyncRenderer;
+            if (renderer == null) {
+                return;
             }
-            for (int j = 7; j >= 0; j--) {
-                if (((ledColors[i] >> j) & 1) == 1) {
-                    pixelRaw[counter++] = Bit_1;
-                } else {
-                    pixelRaw[counter++] = Bit_0;
+            asyncRenderingStopping = true;
+            notifyAll();
+        }
+        try {
+            renderer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logDebug("Asynchronous rendering stopped");
+    }
+
+    public synchronized boolean isAsyncRendering() {
+        return asyncRenderer != null;
+    }
+
+    /**
+     * @return number of frames published in asynchronous render mode
+     */
+    public synchronized long getPublishedFrames() {
+        return publishedFrames;
+    }
+
+    /**
+     * @return number of published frames sent to the strip
+     */
+    public synchronized long getRenderedFrames() {
+        return renderedFrames;
+    }
+
+    /**
+     * @return number of published frames replaced by a newer one before they were sent to the strip
+     */
+    public synchronized long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Copies the pixels for the render thread, replacing a frame it hasn't taken yet.
+     * Must be called while holding the lock, so no pixel can change during the copy.
+     */
+    private void publishFrame() {
+        System.arraycopy(ledColors, 0, pendingFrame, 0, numberOfLEDs);
+        if (framePending) {
+            droppedFrames++;
+        }
+        framePending = true;
+        publishedFrames++;
+        dirty = false;
+        notifyAll();
+    }
+
+    /**
+     * Loop of the render thread. Runs until asynchronous rendering is stopped and the last published frame is sent.
+     */
+    private void renderPublishedFrames() {
+        while (true) {
+            int[] frame;
+            synchronized (this) {
+                while (!framePending && !asyncRenderingStopping) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                if (!framePending) {
+                    // from now on render() transfers in the calling thread
+                    asyncRenderer = null;
+                    asyncRenderingStopping = false;
+                    return;
                 }
+                frame          = pendingFrame;
+                pendingFrame   = renderingFrame;
+                renderingFrame = frame;
+                framePending   = false;
+            }
+
+            encodeFrame(frame, pixelRaw);
+            send(pixelRaw);
+
+            synchronized (this) {
+                renderedFrames++;
             }
         }
+    }
 
-        // While bit-banging, the first and last byte have to be a reset
-        pixelRaw[0] = Bit_Reset;
-        pixelRaw[pixelRaw.length - 1] = Bit_Reset;
+    /**
+     * Encodes all pixels and sends them to the strip
+     */
+    private void transfer() {
+        encodeFrame(ledColors, pixelRaw);
 
-        sendToSerialDevice(pixelRaw);
+        send(pixelRaw);
+        dirty = false;
 
         logDebug("Finished rendering of LED strip");
+    }
 
-        delay(idlePeriod);
+    /**
+     * Sends a whole frame to the strip, waiting until no other frame is sent
+     */
+    private void send(byte[] frame) {
+        synchronized (spiLock) {
+            sendToSerialDevice(frame);
+        }
+    }
+
+    /**
+     * Converts the colors of all LEDs to the data sent to the SPI.
+     * <p>
+     * Override this method for LED chips with a different protocol.
+     *
+     * @param colors the colors of all LEDs
+     * @param frame  the data to send, with the size given in the constructor
+     */
+    protected void encodeFrame(int[] colors, byte[] frame) {
+        //beginning at 1, because the first byte is a reset
+        int counter = 1;
+        for (int color : colors) {
+            // Calculating GRB from RGB
+            counter = encodeColorByte(LedColor.getGreenComponent(color), frame, counter);
+            counter = encodeColorByte(LedColor.getRedComponent(color),   frame, counter);
+            counter = encodeColorByte(LedColor.getBlueComponent(color),  frame, counter);
+        }
+        frame[0] = Bit_Reset;
+        frame[frame.length - 1] = Bit_Reset;
+    }
+
+    /**
+     * Expands a single color byte to its SPI bytes using the precomputed bit patterns of the encoding
+     *
+     * @param value  color byte, range 0..255
+     * @param frame  the data to send
+     * @param offset position in the frame where the first SPI byte is written
+     * @return position for the next color byte
+     */
+    private int encodeColorByte(int value, byte[] frame, int offset) {
+        System.arraycopy(encoding.bitPatterns, value * encoding.bytesPerColorByte, frame, offset, encoding.bytesPerColorByte);
+        return offset + encoding.bytesPerColorByte;
+    }
+
+    /**
+     * The brightness the colors are scaled with, when they are set.
+     * <p>
+     * Override this method for LED chips that handle the brightness by themselves.
+     *
+     * @return brightness, range 0 - 1
+     */
+    protected double colorTableBrightness() {
+        return maxBrightness;
+    }
+
+    /**
+     * A WS2812 strip has no clock line, every bit is encoded by the length of a high pulse.
+     * The SPI is used to generate these pulses, therefore every bit is converted to several SPI bits.
+     * <p>
+     * The following encodings can be used
+     * {@link #BYTE_PER_BIT}
+     * {@link #THREE_BITS_PER_BIT}
+     */
+    public enum Encoding {
+        /**
+         * Every bit is sent as one SPI byte, that's 24 bytes per LED. Robust, but limits the refresh rate of long strips.
+         * The SPI is clocked at 4 MHz.
+         */
+        BYTE_PER_BIT(8, 8 * DEFAULT_FREQUENCY_PI4),
+        /**
+         * Every bit is sent as three SPI bits ({@code 100} or {@code 110}), that's 9 bytes per LED.
+         * The SPI is clocked at 3 times the data rate of the WS2812, that's 2.4 MHz. A high pulse of one SPI bit
+         * (417ns) is read as 0, of two SPI bits (833ns) as 1.
+         */
+        THREE_BITS_PER_BIT(3, 3 * WS2812_BIT_RATE);
+
+        /**
+         * SPI bits needed for a single bit of a color
+         */
+        private final int spiBitsPerBit;
+        /**
+         * SPI clock frequency in Hz
+         */
+        private final int spiClock;
+        /**
+         * SPI bytes needed for a single color byte
+         */
+        private final int bytesPerColorByte;
+        /**
+         * Lookup table with the SPI bytes for every possible color byte, most significant bit first.
+         * The SPI bytes for color value {@code v} start at index {@code v * bytesPerColorByte}.
+         */
+        private final byte[] bitPatterns;
+
+        Encoding(int spiBitsPerBit, int spiClock) {
+            this.spiBitsPerBit = spiBitsPerBit;
+            this.spiClock = spiClock;
+            this.bytesPerColorByte = spiBitsPerBit;
+            this.bitPatterns = new byte[256 * bytesPerColorByte];
+            for (int value = 0; value < 256; value++) {
+                int offset = value * bytesPerColorByte;
+                if (spiBitsPerBit == 8) {
+                    for (int bit = 0; bit < 8; bit++) {
+                        bitPatterns[offset + bit] = ((value >> (7 - bit)) & 1) == 1 ? Bit_1 : Bit_0;
+                    }
+                } else {
+                    int pattern = 0;
+                    for (int bit = 7; bit >= 0; bit--) {
+                        pattern = (pattern << 3) | (((value >> bit) & 1) == 1 ? Bits_1 : Bits_0);
+                    }
+                    bitPatterns[offset]     = (byte) (pattern >> 16);
+                    bitPatterns[offset + 1] = (byte) (pattern >> 8);
+                    bitPatterns[offset + 2] = (byte) pattern;
+                }
+            }
+        }
+
+        /**
+         * @return SPI bits needed for a single bit of a color
+         */
+        public int getSpiBitsPerBit() {
+            return spiBitsPerBit;
+        }
+
+        /**
+         * @return SPI clock frequency in Hz
+         */
+        public int getSpiClock() {
+            return spiClock;
+        }
     }
 
     /**
@@ -260,6 +949,11 @@ public class LedStrip extends SpiDevice {
 
         public static final int Color_COMPONENT_MAX = 0xFF;
 
+        /**
+         * Gamma value used for perceptual correction of the colors
+         */
+        public static final double GAMMA = 2.8;
+
         /**
          * Input a value 0 to 255 to get a Color value.
          * The Colors are a transition r - g - b - back to r.
@@ -284,6 +978,32 @@ public class LedStrip extends SpiDevice {
             return createColorRGB(wheel_pos * 3, max - wheel_pos * 3, 0);
         }
 
+        /**
+         * Fills a lookup table with the value of every color component for the given brightness and gamma.
+         * Use {@link #scaleColor(int, int[])} to apply it.
+         *
+         * @param table      the table to fill, needs 256 entries
+         * @param brightness brightness, range 0 - 1
+         * @param gamma      gamma correction, 1.0 for no correction
+         */
+        public static void fillColorTable(int[] table, double brightness, double gamma) {
+            for (int i = 0; i <= Color_COMPONENT_MAX; i++) {
+                double corrected = gamma == 1.0 ? i : Color_COMPONENT_MAX * Math.pow(i / (double) Color_COMPONENT_MAX, gamma);
+                table[i] = (int) (corrected * brightness);
+            }
+        }
+
+        /**
+         * Scales all color components using a lookup table filled by {@link #fillColorTable(int[], double, double)}
+         *
+         * @param color the color to scale
+         * @param table the lookup table
+         * @return the scaled color
+         */
+        public static int scaleColor(int color, int[] table) {
+            return table[(color & RED_MASK) >> 16] << 16 | table[(color & GREEN_MASK) >> 8] << 8 | table[color & BLUE_MASK];
+        }
+
         public static int scaleColorToBrightness(int color, double brightness){
             color = LedColor.setRedComponent  (color, (int) (LedColor.getRedComponent  (color) * brightness));
             color = LedColor.setGreenComponent(color, (int) (LedColor.getGreenComponent(color) * brightness));
@@ -1,6 +1,6 @@
 package com.pi4j.catalog.components;
 
-import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
 
 import com.pi4j.catalog.components.base.Component;
 
@@ -75,8 +75,8 @@ public class Potentiometer extends Component {
      *
      * @param onChange Event handler to call or null to disable
      */
-    public void onNormalizedValueChange(Consumer<Double> onChange) {
-        ads1115.onValueChange(channel, (voltage) -> onChange.accept(normalizeVoltage(voltage)));
+    public void onNormalizedValueChange(DoubleConsumer onChange) {
+        ads1115.onValueChange(channel, onChange != null ? (voltage) -> onChange.accept(normalizeVoltage(voltage)) : null);
     }
 
     @Override
@@ -73,7 +73,7 @@ public class SerialGps extends Component {
      *
      * @param line the String delivered by the SerialReader
      */
-    private void handleNewData(String line) {
+    void handleNewData(String line) {
         logDebug("Serial reader delivered: '%s'", line);
         String[] data = line.split(",");
         switch (data[0]) {
@@ -3,6 +3,7 @@ package com.pi4j.catalog.components.base;
 import java.time.Duration;
 
 import com.pi4j.context.Context;
+import com.pi4j.io.exception.IOReadException;
 import com.pi4j.io.i2c.I2C;
 import com.pi4j.plugin.mock.provider.i2c.MockI2C;
 
@@ -19,6 +20,10 @@ public abstract class I2CDevice extends Component {
      */
     private final I2C i2c;
 
+    /**
+     * Reused for reading and writing register words, so no array is allocated per access
+     */
+    private final byte[] wordBuffer = new byte[2];
 
     protected I2CDevice(Context pi4j, int device, String name){
         i2c = pi4j.create(I2C.newConfigBuilder(pi4j)
@@ -40,8 +45,19 @@ public abstract class I2CDevice extends Component {
         delay(Duration.ofNanos(100_000));
     }
 
+    /**
+     * read a word (most significant byte first) from a register of the device
+     *
+     * @return the unsigned word
+     */
     protected int readRegister(int register) {
-        return i2c.readRegisterWord(register);
+        synchronized (wordBuffer) {
+            int bytes = i2c.readRegister(register, wordBuffer, 0, 2);
+            if (bytes < 2) {
+                throw new IOReadException(bytes);
+            }
+            return (wordBuffer[0] & 0xFF) << 8 | (wordBuffer[1] & 0xFF);
+        }
     }
 
     /**
@@ -50,7 +66,11 @@ public abstract class I2CDevice extends Component {
      * @param config custom configuration
      */
     protected void writeRegister(int register, int config) {
-        i2c.writeRegisterWord(register, config);
+        synchronized (wordBuffer) {
+            wordBuffer[0] = (byte) (config >> 8);
+            wordBuffer[1] = (byte) config;
+            i2c.writeRegister(register, wordBuffer, 0, 2);
+        }
     }
 
     /**
@@ -0,0 +1,283 @@
+package com.pi4j.catalog.components.helpers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+import com.pi4j.catalog.components.base.Component;
+
+/**
+ * Runs a task at a fixed rate in its own thread.
+ * <p>
+ * The cycles are scheduled on deadlines ({@code start + n * period}) instead of sleeping a fixed time after each run.
+ * Thus, the time needed by the task itself (e.g. encoding and sending a frame to an LED strip) doesn't add up and the
+ * rate doesn't drift.
+ * <p>
+ * If a cycle takes longer than the period it is counted as 'late'. The next cycle is started immediately, as long as
+ * it's still within its own time slot. Time slots that have completely passed are skipped and counted as 'dropped'.
+ * The task gets the number of the current cycle, so it can catch up, e.g. an animation can calculate the
+ * correct frame even if some frames were dropped.
+ */
+public class FixedRateScheduler extends Component {
+    /**
+     * Number of cycles used for measured rate and cycle time percentiles
+     */
+    private static final int STATISTICS_WINDOW = 128;
+
+    private final String name;
+    private volatile long periodNanos;
+    private final LongConsumer task;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    private long cycles;
+    private long lateCycles;
+    private long droppedCycles;
+
+    /**
+     * execution time, start time and start delay of the latest cycles, used as ring buffers
+     */
+    private final long[] cycleTimes  = new long[STATISTICS_WINDOW];
+    private final long[] startTimes  = new long[STATISTICS_WINDOW];
+    private final long[] startDelays = new long[STATISTICS_WINDOW];
+    private final long[] sortedTimes = new long[STATISTICS_WINDOW];
+
+    /**
+     * Creates a new scheduler. Call {@link #start()} to run it.
+     *
+     * @param name   name of the thread, shown e.g. in the debugger
+     * @param period time between the start of two cycles
+     * @param task   what to do in each cycle, gets the number of the cycle
+     */
+    public FixedRateScheduler(String name, Duration period, LongConsumer task) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        this.name        = name;
+        this.periodNanos = period.toNanos();
+        this.task        = task;
+    }
+
+    /**
+     * Creates a new scheduler running at the given rate. Call {@link #start()} to run it.
+     *
+     * @param name      name of the thread, shown e.g. in the debugger
+     * @param frequency cycles per second, must be positive
+     * @param task      what to do in each cycle, gets the number of the cycle
+     */
+    public FixedRateScheduler(String name, double frequency, LongConsumer task) {
+        this(name, periodOf(frequency), task);
+    }
+
+    private static Duration periodOf(double frequency) {
+        // also rejects NaN
+        if (!(frequency > 0)) {
+            throw new IllegalArgumentException("Frequency must be positive");
+        }
+        return Duration.ofNanos(Math.round(1_000_000_000.0 / frequency));
+    }
+
+    /**
+     * Starts the scheduler thread. Does nothing if it's running already.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::runCycles, name);
+        thread.setDaemon(true);
+        thread.start();
+        logDebug("%s started with a period of %d ns", name, periodNanos);
+    }
+
+    /**
+     * Stops the scheduler. A cycle in progress is finished first, this method returns only after it has ended. If
+     * called by the task itself, the current cycle is the last one.
+     */
+    public void stop() {
+        Thread runner;
+        synchronized (this) {
+            running = false;
+            runner = thread;
+            thread = null;
+        }
+        if (runner != null && runner != Thread.currentThread()) {
+            LockSupport.unpark(runner);
+            // the caller relies on the task being done, e.g. before switching off the device it reads
+            boolean interrupted = false;
+            while (runner.isAlive()) {
+                try {
+                    runner.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logDebug("%s stopped", name);
+    }
+
+    @Override
+    public void reset() {
+        stop();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public Duration getPeriod() {
+        return Duration.ofNanos(periodNanos);
+    }
+
+    /**
+     * Changes the period, e.g. if the task has more work to do per cycle. The next cycle keeps its deadline, the
+     * following ones are scheduled with the new period. The cycle numbers continue.
+     *
+     * @param period time between the start of two cycles
+     */
+    public void setPeriod(Duration period) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        periodNanos = period.toNanos();
+        Thread runner;
+        synchronized (this) {
+            runner = thread;
+        }
+        if (runner != null) {
+            LockSupport.unpark(runner);
+        }
+    }
+
+    /**
+     * @return number of cycles executed so far
+     */
+    public synchronized long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @return number of cycles that took longer than the period
+     */
+    public synchronized long getLateCycles() {
+        return lateCycles;
+    }
+
+    /**
+     * @return number of cycles skipped because a previous cycle took too long
+     */
+    public synchronized long getDroppedCycles() {
+        return droppedCycles;
+    }
+
+    /**
+     * @return cycles per second, measured over the latest cycles
+     */
+    public synchronized double getMeasuredRate() {
+        int samples = (int) Math.min(cycles, STATISTICS_WINDOW);
+        if (samples < 2) {
+            return 0;
+        }
+        long newest = startTimes[(int) ((cycles - 1) % STATISTICS_WINDOW)];
+        long oldest = startTimes[(int) ((cycles - samples) % STATISTICS_WINDOW)];
+
+        return (samples - 1) * 1_000_000_000.0 / (newest - oldest);
+    }
+
+    /**
+     * Percentile of the time needed by the task, measured over the latest cycles.
+     *
+     * @param percentile range 0 - 100, e.g. 50 for the median or 99 for the worst but a few cycles
+     * @return the execution time, zero if no cycle has been executed yet
+     */
+    public synchronized Duration getCycleTimePercentile(double percentile) {
+        return percentile(cycleTimes, percentile);
+    }
+
+    /**
+     * Percentile of the jitter, i.e. how long after its deadline a cycle was started, measured over the latest cycles.
+     * Includes the delay caused by a previous cycle that took too long.
+     *
+     * @param percentile range 0 - 100, e.g. 50 for the median or 99 for the worst but a few cycles
+     * @return the start delay, zero if no cycle has been executed yet
+     */
+    public synchronized Duration getJitterPercentile(double percentile) {
+        return percentile(startDelays, percentile);
+    }
+
+    private Duration percentile(long[] times, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        int samples = (int) Math.min(cycles, STATISTICS_WINDOW);
+        if (samples == 0) {
+            return Duration.ZERO;
+        }
+        System.arraycopy(times, 0, sortedTimes, 0, samples);
+        Arrays.sort(sortedTimes, 0, samples);
+        int index = (int) Math.ceil(percentile / 100.0 * samples) - 1;
+
+        return Duration.ofNanos(sortedTimes[Math.max(index, 0)]);
+    }
+
+    private void runCycles() {
+        long period = periodNanos;
+        long startTime = System.nanoTime();
+        long cycle = 0;
+
+        try {
+            while (running) {
+                long requestedPeriod = periodNanos;
+                if (requestedPeriod != period) {
+                    // moving the start, so the next cycle keeps its deadline
+                    startTime += cycle * (period - requestedPeriod);
+                    period = requestedPeriod;
+                }
+                long deadline = startTime + cycle * period;
+                long waitNanos = deadline - System.nanoTime();
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(this, waitNanos);
+                    // might have been woken up early, check again
+                    continue;
+                }
+
+                long begin = System.nanoTime();
+                try {
+                    task.accept(cycle);
+                } catch (Exception e) {
+                    logException(name + " failed in cycle " + cycle, e);
+                }
+                long end = System.nanoTime();
+
+                // the next cycle is started right away if we're still in its time slot, all passed slots are skipped
+                long nextCycle = Math.max(cycle + 1, (end - startTime) / period);
+                synchronized (this) {
+                    int slot = (int) (cycles % STATISTICS_WINDOW);
+                    cycleTimes[slot] = end - begin;
+                    startTimes[slot] = begin;
+                    startDelays[slot] = begin - deadline;
+                    cycles++;
+                    if (end > deadline + period) {
+                        lateCycles++;
+                    }
+                    droppedCycles += nextCycle - cycle - 1;
+                }
+                cycle = nextCycle;
+            }
+        } finally {
+            // an Error thrown by the task ends the thread, it mustn't look like it's still running
+            synchronized (this) {
+                if (thread == Thread.currentThread()) {
+                    running = false;
+                    thread = null;
+                }
+            }
+        }
+    }
+}
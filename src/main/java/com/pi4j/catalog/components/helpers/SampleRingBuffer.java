@@ -0,0 +1,108 @@
+package com.pi4j.catalog.components.helpers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-capacity buffer of timestamped raw samples, written by a single producer and read by a single consumer.
+ * <p>
+ * The producer, e.g. the thread sampling an ADC, never waits for the consumer. If the buffer is full, the new sample
+ * is dropped and counted as overflow. The consumer reads the samples in batches at its own pace.
+ * <p>
+ * Timestamps and values are kept in primitive arrays, no memory is allocated per sample.
+ */
+public class SampleRingBuffer {
+    private final long[] timestamps;
+    private final short[] values;
+    private final int mask;
+
+    /**
+     * number of samples written so far, only changed by the producer
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * number of samples read so far, only changed by the consumer
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile long overflows;
+
+    /**
+     * Creates a new buffer
+     *
+     * @param capacity number of samples the buffer can hold, rounded up to the next power of two
+     */
+    public SampleRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        timestamps = new long[size];
+        values     = new short[size];
+        mask       = size - 1;
+    }
+
+    /**
+     * Adds a sample. Must only be called by the producer.
+     *
+     * @param nanoTime time of the sample, as given by {@link System#nanoTime()}
+     * @param value    the raw sample
+     * @return false if the buffer is full and the sample has been dropped
+     */
+    public boolean offer(long nanoTime, short value) {
+        long position = head.get();
+        if (position - tail.getAcquire() > mask) {
+            overflows++;
+            return false;
+        }
+        int index = (int) position & mask;
+        timestamps[index] = nanoTime;
+        values[index]     = value;
+        head.setRelease(position + 1);
+
+        return true;
+    }
+
+    /**
+     * Moves the oldest samples to the given arrays. Must only be called by the consumer.
+     *
+     * @param nanoTimes array for the times of the samples
+     * @param rawValues array for the samples
+     * @param offset    index in the arrays of the first sample
+     * @param maxCount  maximum number of samples to move
+     * @return number of samples moved, 0 if the buffer is empty
+     */
+    public int drainTo(long[] nanoTimes, short[] rawValues, int offset, int maxCount) {
+        if (offset < 0 || maxCount < 0 || offset + maxCount > nanoTimes.length || offset + maxCount > rawValues.length) {
+            throw new IndexOutOfBoundsException("Arrays too small for " + maxCount + " samples at offset " + offset);
+        }
+        long position = tail.get();
+        int count = (int) Math.min(head.getAcquire() - position, maxCount);
+        for (int i = 0; i < count; i++) {
+            int index = (int) (position + i) & mask;
+            nanoTimes[offset + i] = timestamps[index];
+            rawValues[offset + i] = values[index];
+        }
+        tail.setRelease(position + count);
+
+        return count;
+    }
+
+    /**
+     * @return number of samples waiting to be read
+     */
+    public int size() {
+        long position = tail.get();
+        return (int) (head.get() - position);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return number of samples dropped because the buffer was full
+     */
+    public long getOverflows() {
+        return overflows;
+    }
+}
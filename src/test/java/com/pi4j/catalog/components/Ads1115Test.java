@@ -1,53 +1,541 @@
 package com.pi4j.catalog.components;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
+import org.junit.jupiter.api.Test;
 
-import com.pi4j.io.i2c.I2C;
+import com.pi4j.io.gpio.digital.DigitalState;
+import com.pi4j.plugin.mock.provider.i2c.MockI2C;
 
 import com.pi4j.catalog.ComponentTest;
+import com.pi4j.catalog.components.base.PIN;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
+import com.pi4j.catalog.components.helpers.SampleRingBuffer;
 
-import static org.mockito.Mockito.when;
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class Ads1115Test extends ComponentTest {
 
-    private final int i2cBus = 0x1;
-
-    private int defaultConfigRegister;
-    private int answerSingleShotAIN0ConfigRegister;
-    private int answerConfigRegister;
     private static final int CONVERSION_REGISTER = 0x00;
     private static final int CONFIG_REGISTER = 0x01;
-    @InjectMocks
-    Ads1115 ads1115;
+    private static final int LO_THRESH_REGISTER = 0x02;
+    private static final int HI_THRESH_REGISTER = 0x03;
 
-    @Mock
-    I2C mockI2C;
+    private Ads1115 ads1115;
+    private MockI2C mockI2C;
 
     @BeforeEach
     public void setUp() {
+        ads1115 = new Ads1115(pi4j);
+        mockI2C = ads1115.mock();
+    }
 
-        //setup mocks
-        defaultConfigRegister = Ads1115.OperationalStatus.WRITE_START.getOperationalStatus()
-                | Ads1115.GAIN.GAIN_4_096V.gain()
-                | Ads1115.DataRate.SPS_128.getConf()
-                | Ads1115.COMP_MODE.TRAD_COMP.getCompMode()
-                | Ads1115.COMP_POL.ACTIVE_LOW.getCompPol()
-                | Ads1115.COMP_LAT.NON_LATCH.getLatching()
-                | Ads1115.COMP_QUE.DISABLE_COMP.getCompQue();
+    @AfterEach
+    public void tearDown() {
+        ads1115.reset();
+    }
+
+    @Test
+    public void testReadValue() {
+        //given
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 16_000);
+
+        //when
+        double voltage = ads1115.readValue(Ads1115.Channel.A0);
 
-        answerSingleShotAIN0ConfigRegister = defaultConfigRegister
-                & Ads1115.OperationalStatus.CLR_CURRENT_CONF_PARAM.getOperationalStatus()
-                | Ads1115.OperationalStatus.READ_NO_CONV.getOperationalStatus()
+        //then
+        assertEquals(16_000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltage, 0.0001);
+        int expectedConfig = Ads1115.OperationalStatus.WRITE_START.getOperationalStatus()
+                | Ads1115.GAIN.GAIN_6_144V.gain()
+                | Ads1115.DataRate.SPS_128.getConf()
+                | Ads1115.COMP_QUE.DISABLE_COMP.getCompQue()
                 | Ads1115.MultiplexerConfig.AIN0_GND.getMux()
                 | Ads1115.OperationMode.SINGLE.getMode();
+        assertEquals(expectedConfig, mockI2C.readRegisterWord(CONFIG_REGISTER));
+    }
 
-        when(mockI2C.writeRegisterWord(CONFIG_REGISTER, defaultConfigRegister | Ads1115.MultiplexerConfig.AIN0_GND.getMux() | Ads1115.OperationMode.SINGLE.getMode())).thenReturn(answerSingleShotAIN0ConfigRegister);
+    @Test
+    public void testReadNegativeValue() {
+        //given
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 0xFFFE);
 
-        ads1115 = new Ads1115(pi4j);
-        mockI2C = ads1115.mock();
+        //when
+        double voltage = ads1115.readValue(Ads1115.Channel.A0);
+
+        //then
+        assertEquals(-2 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltage, 0.0001);
+    }
+
+    @Test
+    public void testReadDifferentialValue() {
+        //given
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 0xFFFE);
+
+        //when
+        double voltage = ads1115.readValue(Ads1115.Channel.A0_A1);
+
+        //then
+        assertTrue(Ads1115.Channel.A0_A1.isDifferential());
+        assertFalse(Ads1115.Channel.A0.isDifferential());
+        assertEquals(-2 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltage, 0.0001);
+        int config = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.MultiplexerConfig.AIN0_AIN1.getMux(), config & Ads1115.MultiplexerConfig.CLR_OTHER_CONF_PARAM.getMux());
+    }
+
+    @Test
+    public void testScanDifferentialAndSingleEndedChannels() throws InterruptedException {
+        //given
+        for (int i = 0; i < 100; i++) {
+            mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000 + i);
+        }
+        List<Double> voltagesA0 = new CopyOnWriteArrayList<>();
+        List<Double> voltagesA2A3 = new CopyOnWriteArrayList<>();
+        ads1115.onValueChange(Ads1115.Channel.A0, voltagesA0::add);
+        ads1115.onValueChange(Ads1115.Channel.A2_A3, voltagesA2A3::add);
+
+        //when
+        ads1115.startContinuousReading(0.0001);
+        sleep(100);
+        ads1115.stopContinuousReading();
+
+        //then
+        assertEquals(1000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltagesA0.get(0), 0.0001);
+        assertEquals(1001 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltagesA2A3.get(0), 0.0001);
+        int mux = Ads1115.MultiplexerConfig.CLR_OTHER_CONF_PARAM.getMux();
+        assertEquals(Ads1115.MultiplexerConfig.AIN0_GND.getMux(), mockI2C.readRegisterWord(CONFIG_REGISTER) & mux);
+        assertEquals(Ads1115.MultiplexerConfig.AIN2_AIN3.getMux(), mockI2C.readRegisterWord(CONFIG_REGISTER) & mux);
+    }
+
+    @Test
+    public void testSwitchFromSingleChannelToScan() throws InterruptedException {
+        //given
+        for (int i = 0; i < 100; i++) {
+            mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000 + i);
+        }
+        ads1115.onValueChange(Ads1115.Channel.A0, (value) -> {});
+        ads1115.startContinuousReading(0.0001, Duration.ofMillis(40));
+        sleep(60);
+
+        //when
+        ads1115.onValueChange(Ads1115.Channel.A1, (value) -> {});
+        sleep(100);
+        ads1115.stopContinuousReading();
+
+        //then the device is powered down before the first single-shot conversion
+        int config = Ads1115.OperationalStatus.WRITE_START.getOperationalStatus()
+                | Ads1115.GAIN.GAIN_6_144V.gain()
+                | Ads1115.DataRate.SPS_128.getConf()
+                | Ads1115.COMP_QUE.DISABLE_COMP.getCompQue();
+        int a0 = config | Ads1115.MultiplexerConfig.AIN0_GND.getMux();
+        int a1 = config | Ads1115.MultiplexerConfig.AIN1_GND.getMux();
+        assertEquals(a0 | Ads1115.OperationMode.CONTINUOUS.getMode(), mockI2C.readRegisterWord(CONFIG_REGISTER));
+        assertEquals(a0 & ~Ads1115.OperationalStatus.WRITE_START.getOperationalStatus() | Ads1115.OperationMode.SINGLE.getMode(),
+                mockI2C.readRegisterWord(CONFIG_REGISTER));
+        assertEquals(a0 | Ads1115.OperationMode.SINGLE.getMode(), mockI2C.readRegisterWord(CONFIG_REGISTER));
+        assertEquals(a1 | Ads1115.OperationMode.SINGLE.getMode(), mockI2C.readRegisterWord(CONFIG_REGISTER));
+    }
+
+    @Test
+    public void testContinuousReadingAtFixedRate() throws InterruptedException {
+        //given
+        for (int i = 0; i < 100; i++) {
+            mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000 + i);
+        }
+        List<Double> voltages = new CopyOnWriteArrayList<>();
+        ads1115.onValueChange(Ads1115.Channel.A0, voltages::add);
+
+        //when
+        FixedRateScheduler scheduler = ads1115.startContinuousReading(0.0001, Duration.ofMillis(25));
+        sleep(300);
+        ads1115.stopContinuousReading();
+
+        //then
+        assertFalse(ads1115.isContinuousReadingActive());
+        assertFalse(scheduler.isRunning());
+        assertEquals(Duration.ofMillis(25), scheduler.getPeriod());
+        assertTrue(scheduler.getCycles() >= 5);
+        assertEquals(scheduler.getCycles(), voltages.size());
+        assertEquals(1000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltages.get(0), 0.0001);
+        assertFalse(scheduler.getJitterPercentile(100).isNegative());
+        int config = Ads1115.OperationalStatus.WRITE_START.getOperationalStatus()
+                | Ads1115.GAIN.GAIN_6_144V.gain()
+                | Ads1115.DataRate.SPS_128.getConf()
+                | Ads1115.COMP_QUE.DISABLE_COMP.getCompQue()
+                | Ads1115.MultiplexerConfig.AIN0_GND.getMux();
+        // a single channel is converted continuously, the config is written once for all cycles
+        assertEquals(config | Ads1115.OperationMode.CONTINUOUS.getMode(), mockI2C.readRegisterWord(CONFIG_REGISTER));
+        assertEquals(config & ~Ads1115.OperationalStatus.WRITE_START.getOperationalStatus() | Ads1115.OperationMode.SINGLE.getMode(),
+                mockI2C.readRegisterWord(CONFIG_REGISTER));
+    }
+
+    @Test
+    public void testAddAndRemoveChannelsWhileReading() throws InterruptedException {
+        //given
+        for (int i = 0; i < 100; i++) {
+            mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000 + i);
+        }
+        List<Double> voltagesA0 = new CopyOnWriteArrayList<>();
+        List<Double> voltagesA1 = new CopyOnWriteArrayList<>();
+        ads1115.onValueChange(Ads1115.Channel.A0, voltagesA0::add);
+        FixedRateScheduler scheduler = ads1115.startContinuousReading(0.0001, Duration.ofMillis(40));
+        sleep(100);
+
+        //when
+        ads1115.onValueChange(Ads1115.Channel.A1, voltagesA1::add);
+        sleep(120);
+        ads1115.resetChannel(Ads1115.Channel.A0);
+        int readingsA0 = voltagesA0.size();
+        sleep(120);
+
+        //then
+        assertTrue(scheduler.isRunning());
+        ads1115.stopContinuousReading();
+        assertTrue(readingsA0 >= 3);
+        // a cycle in progress might still have used the old table
+        assertTrue(voltagesA0.size() <= readingsA0 + 1);
+        assertTrue(voltagesA1.size() >= 4);
+        assertEquals(0, scheduler.getDroppedCycles());
+    }
+
+    @Test
+    public void testDefaultPeriodDependsOnChannels() {
+        //given
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000);
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000);
+        ads1115.onValueChange(Ads1115.Channel.A0, (value) -> {});
+        ads1115.onValueChange(Ads1115.Channel.A1, (value) -> {});
+
+        //when
+        FixedRateScheduler scheduler = ads1115.startContinuousReading(0.1);
+        ads1115.stopContinuousReading();
+
+        //then
+        assertEquals(31_250_000, scheduler.getPeriod().toNanos());
+    }
+
+    @Test
+    public void testDefaultPeriodFollowsChannels() throws InterruptedException {
+        //given
+        for (int i = 0; i < 100; i++) {
+            mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000 + i);
+        }
+        ads1115.onValueChange(Ads1115.Channel.A0, (value) -> {});
+        ads1115.onValueChange(Ads1115.Channel.A1, (value) -> {});
+        FixedRateScheduler scheduler = ads1115.startContinuousReading(0.1);
+        sleep(50);
+
+        //when
+        ads1115.onValueChange(Ads1115.Channel.A2, (value) -> {});
+
+        //then
+        assertEquals(46_875_000, scheduler.getPeriod().toNanos());
+
+        //when
+        ads1115.resetChannel(Ads1115.Channel.A0);
+        ads1115.resetChannel(Ads1115.Channel.A1);
+
+        //then a single channel is converted continuously
+        assertEquals(7_812_500, scheduler.getPeriod().toNanos());
+        ads1115.stopContinuousReading();
+    }
+
+    @Test
+    public void testExplicitPeriodStaysFixed() {
+        //given
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000);
+        ads1115.onValueChange(Ads1115.Channel.A0, (value) -> {});
+        FixedRateScheduler scheduler = ads1115.startContinuousReading(0.1, Duration.ofMillis(100));
+
+        //when
+        ads1115.onValueChange(Ads1115.Channel.A1, (value) -> {});
+
+        //then
+        assertEquals(Duration.ofMillis(100), scheduler.getPeriod());
+        ads1115.stopContinuousReading();
+    }
+
+    @Test
+    public void testContinuousConversion() throws InterruptedException {
+        //given
+        for (int i = 0; i < 100; i++) {
+            mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000 + i);
+        }
+        List<Double> voltages = new CopyOnWriteArrayList<>();
+        ads1115.onValueChange(Ads1115.Channel.A2, voltages::add);
+
+        //when
+        FixedRateScheduler scheduler = ads1115.startContinuousConversion(Ads1115.Channel.A2, 0.0001);
+        sleep(200);
+        ads1115.stopContinuousReading();
+
+        //then
+        assertEquals(1_000_000_000 / 128, scheduler.getPeriod().toNanos());
+        assertTrue(voltages.size() >= 10);
+        assertEquals(scheduler.getCycles() - 1, voltages.size());
+        int config = Ads1115.OperationalStatus.WRITE_START.getOperationalStatus()
+                | Ads1115.GAIN.GAIN_6_144V.gain()
+                | Ads1115.DataRate.SPS_128.getConf()
+                | Ads1115.COMP_QUE.DISABLE_COMP.getCompQue()
+                | Ads1115.MultiplexerConfig.AIN2_GND.getMux();
+        // written once to start the continuous conversion, then once to power down
+        assertEquals(config | Ads1115.OperationMode.CONTINUOUS.getMode(), mockI2C.readRegisterWord(CONFIG_REGISTER));
+        assertEquals(config & ~Ads1115.OperationalStatus.WRITE_START.getOperationalStatus() | Ads1115.OperationMode.SINGLE.getMode(),
+                mockI2C.readRegisterWord(CONFIG_REGISTER));
+    }
+
+    @Test
+    public void testRecordSamples() throws InterruptedException {
+        //given
+        for (int i = 0; i < 100; i++) {
+            mockI2C.writeRegisterWord(CONVERSION_REGISTER, 0xFFF0 + i);
+        }
+        SampleRingBuffer buffer = ads1115.recordSamples(Ads1115.Channel.A1, 8);
+        long[] nanoTimes = new long[8];
+        short[] rawValues = new short[8];
+
+        //when
+        long start = System.nanoTime();
+        ads1115.startContinuousReading(1.0, Duration.ofMillis(20));
+        sleep(150);
+        ads1115.stopContinuousReading();
+        int count = buffer.drainTo(nanoTimes, rawValues, 0, 8);
+
+        //then
+        assertTrue(count >= 5);
+        assertEquals(-16, rawValues[0]);
+        assertEquals(-15, rawValues[1]);
+        assertTrue(nanoTimes[0] > start);
+        assertTrue(nanoTimes[2] - nanoTimes[1] >= 15_000_000);
+        assertEquals(-16 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), ads1115.rawToVoltage(Ads1115.Channel.A1, rawValues[0]), 0.0001);
+    }
+
+    @Test
+    public void testChannelConfiguration() {
+        //given
+        ads1115.configureChannel(Ads1115.Channel.A1, Ads1115.GAIN.GAIN_1_024V, Ads1115.DataRate.SPS_860);
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000);
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000);
+
+        //when
+        double fastVoltage = ads1115.readValue(Ads1115.Channel.A1);
+        double defaultVoltage = ads1115.readValue(Ads1115.Channel.A0);
+
+        //then
+        assertEquals(Ads1115.GAIN.GAIN_1_024V, ads1115.getGain(Ads1115.Channel.A1));
+        assertEquals(Ads1115.DataRate.SPS_860, ads1115.getDataRate(Ads1115.Channel.A1));
+        assertEquals(Ads1115.DataRate.SPS_128, ads1115.getDataRate(Ads1115.Channel.A0));
+        assertEquals(1000 * Ads1115.GAIN.GAIN_1_024V.gainPerBit(), fastVoltage, 0.0001);
+        assertEquals(1000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), defaultVoltage, 0.0001);
+        int fastConfig = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.GAIN.GAIN_1_024V.gain() | Ads1115.DataRate.SPS_860.getConf(), fastConfig & 0b0000_1110_1110_0000);
+        int defaultConfig = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.GAIN.GAIN_6_144V.gain() | Ads1115.DataRate.SPS_128.getConf(), defaultConfig & 0b0000_1110_1110_0000);
+    }
+
+    @Test
+    public void testDefaultPeriodOfMixedDataRates() {
+        //given
+        ads1115.configureChannel(Ads1115.Channel.A0, Ads1115.GAIN.GAIN_4_096V, Ads1115.DataRate.SPS_8);
+        ads1115.configureChannel(Ads1115.Channel.A1, Ads1115.GAIN.GAIN_4_096V, Ads1115.DataRate.SPS_250);
+        ads1115.onValueChange(Ads1115.Channel.A0, (value) -> {});
+        ads1115.onValueChange(Ads1115.Channel.A1, (value) -> {});
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000);
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000);
+
+        //when
+        FixedRateScheduler scheduler = ads1115.startContinuousReading(0.1);
+
+        //then
+        assertEquals(250_000_000 + 8_000_000, scheduler.getPeriod().toNanos());
+        assertThrows(IllegalStateException.class,
+                () -> ads1115.configureChannel(Ads1115.Channel.A0, Ads1115.GAIN.GAIN_4_096V, Ads1115.DataRate.SPS_16));
+    }
+
+    @Test
+    public void testPollReady() {
+        //given
+        ads1115.setAcquisition(Ads1115.Acquisition.POLL_READY);
+        ads1115.configureChannel(Ads1115.Channel.A0, Ads1115.GAIN.GAIN_6_144V, Ads1115.DataRate.SPS_8);
+        // the device is still busy at the first poll, the second poll returns the written config with the OS bit set
+        mockI2C.writeRegisterWord(CONFIG_REGISTER, Ads1115.OperationalStatus.READ_CONV.getOperationalStatus());
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000);
+
+        //when
+        long start = System.nanoTime();
+        double voltage = ads1115.readValue(Ads1115.Channel.A0);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        //then
+        assertEquals(1000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltage, 0.0001);
+        assertEquals(1, ads1115.getPolledConversions());
+        // nominal conversion time is 125ms, the fixed delay 250ms
+        assertTrue(elapsedMillis >= 112);
+        assertTrue(elapsedMillis < 200);
+        assertTrue(ads1115.getAverageSavedLatency().toMillis() > 50);
+    }
+
+    @Test
+    public void testAlertReadyPin() {
+        //given
+        ads1115.useAlertReadyPin(PIN.D17);
+        ads1115.configureChannel(Ads1115.Channel.A0, Ads1115.GAIN.GAIN_6_144V, Ads1115.DataRate.SPS_8);
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000);
+        Thread device = new Thread(() -> {
+            try {
+                sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ads1115.mockAlertReadyPin().mockState(DigitalState.HIGH);
+            ads1115.mockAlertReadyPin().mockState(DigitalState.LOW);
+        });
+
+        //when
+        long start = System.nanoTime();
+        device.start();
+        double voltage = ads1115.readValue(Ads1115.Channel.A0);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        //then
+        assertEquals(Ads1115.Acquisition.ALERT_READY, ads1115.getAcquisition());
+        assertEquals(1000 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltage, 0.0001);
+        // the fixed delay would be 250ms
+        assertTrue(elapsedMillis < 200);
+        assertEquals(0x8000, mockI2C.readRegisterWord(HI_THRESH_REGISTER));
+        assertEquals(0x0000, mockI2C.readRegisterWord(LO_THRESH_REGISTER));
+        assertEquals(Ads1115.COMP_QUE.ASSERT_ONE.getCompQue(), mockI2C.readRegisterWord(CONFIG_REGISTER) & Ads1115.COMP_QUE.CLR_OTHER_CONF_PARAM.getCompQue());
     }
 
+    @Test
+    public void testResetReleasesAlertReadyPin() {
+        //given
+        ads1115.useAlertReadyPin(PIN.D17);
+        mockI2C.readRegisterWord(HI_THRESH_REGISTER);
+        mockI2C.readRegisterWord(LO_THRESH_REGISTER);
+
+        //when
+        ads1115.reset();
+
+        //then the comparator is disabled with its default thresholds
+        assertEquals(Ads1115.Acquisition.FIXED_DELAY, ads1115.getAcquisition());
+        assertEquals(0x7FFF, mockI2C.readRegisterWord(HI_THRESH_REGISTER));
+        assertEquals(0x8000, mockI2C.readRegisterWord(LO_THRESH_REGISTER));
+        assertEquals(Ads1115.COMP_QUE.DISABLE_COMP.getCompQue(), mockI2C.readRegisterWord(CONFIG_REGISTER) & Ads1115.COMP_QUE.CLR_OTHER_CONF_PARAM.getCompQue());
+
+        //when the pin is connected again
+        ads1115.useAlertReadyPin(PIN.D17);
+
+        //then
+        assertEquals(Ads1115.Acquisition.ALERT_READY, ads1115.getAcquisition());
+    }
+
+    @Test
+    public void testContinuousConversionOnAlert() {
+        //given
+        ads1115.useAlertReadyPin(PIN.D17);
+        for (int i = 0; i < 3; i++) {
+            mockI2C.writeRegisterWord(CONVERSION_REGISTER, 1000 + i);
+        }
+        List<Double> voltages = new CopyOnWriteArrayList<>();
+        ads1115.onValueChange(Ads1115.Channel.A0, voltages::add);
+
+        //when
+        FixedRateScheduler watchdog = ads1115.startContinuousConversion(Ads1115.Channel.A0, 0.0001);
+        for (int i = 0; i < 3; i++) {
+            ads1115.mockAlertReadyPin().mockState(DigitalState.HIGH);
+            ads1115.mockAlertReadyPin().mockState(DigitalState.LOW);
+        }
+        ads1115.stopContinuousReading();
+
+        //then
+        assertEquals(3, voltages.size());
+        assertEquals(1002 * Ads1115.GAIN.GAIN_6_144V.gainPerBit(), voltages.get(2), 0.0001);
+        assertEquals(Duration.ofNanos(1_000_000_000 / 16), watchdog.getPeriod());
+    }
+
+    @Test
+    public void testWindowComparatorOnAlert() {
+        //given
+        ads1115.useAlertReadyPin(PIN.D17);
+        ads1115.configureChannel(Ads1115.Channel.A0, Ads1115.GAIN.GAIN_4_096V, Ads1115.DataRate.SPS_128);
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 25_000);
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 8_000);
+        List<Double> voltages = new CopyOnWriteArrayList<>();
+        ads1115.onValueChange(Ads1115.Channel.A0, voltages::add);
+
+        //when
+        ads1115.startWindowComparator(Ads1115.Channel.A0, 0.5, 2.0,
+                Ads1115.COMP_QUE.ASSERT_TWO, Ads1115.COMP_LAT.DO_LATCH, Duration.ofSeconds(1));
+        for (int i = 0; i < 2; i++) {
+            ads1115.mockAlertReadyPin().mockState(DigitalState.HIGH);
+            ads1115.mockAlertReadyPin().mockState(DigitalState.LOW);
+        }
+        ads1115.stopContinuousReading();
 
+        //then
+        assertEquals(List.of(3.125), voltages);
+        // conversion-ready thresholds, window thresholds, restored conversion-ready thresholds
+        assertEquals(0x8000, mockI2C.readRegisterWord(HI_THRESH_REGISTER));
+        assertEquals(16_000, mockI2C.readRegisterWord(HI_THRESH_REGISTER));
+        assertEquals(0x8000, mockI2C.readRegisterWord(HI_THRESH_REGISTER));
+        assertEquals(0x0000, mockI2C.readRegisterWord(LO_THRESH_REGISTER));
+        assertEquals(4_000, mockI2C.readRegisterWord(LO_THRESH_REGISTER));
+        assertEquals(0x0000, mockI2C.readRegisterWord(LO_THRESH_REGISTER));
+        int config = mockI2C.readRegisterWord(CONFIG_REGISTER);
+        assertEquals(Ads1115.COMP_MODE.WINDOW_COMP.getCompMode(), config & Ads1115.COMP_MODE.CLR_OTHER_CONF_PARAM.getCompMode());
+        assertEquals(Ads1115.COMP_LAT.DO_LATCH.getLatching(), config & Ads1115.COMP_LAT.CLR_OTHER_CONF_PARAM.getLatching());
+        assertEquals(Ads1115.COMP_QUE.ASSERT_TWO.getCompQue(), config & Ads1115.COMP_QUE.CLR_OTHER_CONF_PARAM.getCompQue());
+        assertEquals(Ads1115.OperationMode.CONTINUOUS.getMode(), config & Ads1115.OperationMode.CLR_OTHER_CONF_PARAM.getMode());
+    }
+
+    @Test
+    public void testWindowComparatorWatchdog() throws InterruptedException {
+        //given
+        mockI2C.writeRegisterWord(CONVERSION_REGISTER, 0xFFF0);
+        for (int i = 0; i < 20; i++) {
+            mockI2C.writeRegisterWord(CONVERSION_REGISTER, 10_000);
+        }
+        List<Double> voltages = new CopyOnWriteArrayList<>();
+        ads1115.onValueChange(Ads1115.Channel.A0, voltages::add);
+
+        //when
+        FixedRateScheduler watchdog = ads1115.startWindowComparator(Ads1115.Channel.A0, 0.0, 3.3,
+                Ads1115.COMP_QUE.ASSERT_ONE, Ads1115.COMP_LAT.NON_LATCH, Duration.ofMillis(20));
+        sleep(150);
+        ads1115.stopContinuousReading();
+
+        //then
+        assertTrue(watchdog.getCycles() >= 3);
+        assertEquals(1, voltages.size());
+        assertTrue(voltages.get(0) < 0);
+    }
+
+    @Test
+    public void testInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> ads1115.startWindowComparator(Ads1115.Channel.A0, 1.0, 0.5,
+                Ads1115.COMP_QUE.ASSERT_ONE, Ads1115.COMP_LAT.NON_LATCH, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> ads1115.startWindowComparator(Ads1115.Channel.A0, 0.5, 1.0,
+                Ads1115.COMP_QUE.DISABLE_COMP, Ads1115.COMP_LAT.NON_LATCH, Duration.ofSeconds(1)));
+        assertFalse(ads1115.isContinuousReadingActive());
+    }
+
+    @Test
+    public void testAlertReadyNeedsPin() {
+        assertThrows(IllegalStateException.class, () -> ads1115.setAcquisition(Ads1115.Acquisition.ALERT_READY));
+    }
+
+    @Test
+    public void testNoSingleReadWhileContinuousReading() {
+        //given
+        ads1115.startContinuousReading(0.1, Duration.ofSeconds(1));
+
+        //then
+        assertThrows(IllegalStateException.class, () -> ads1115.readValue(Ads1115.Channel.A0));
+        assertThrows(IllegalStateException.class, () -> ads1115.startContinuousReading(0.1));
+    }
 }
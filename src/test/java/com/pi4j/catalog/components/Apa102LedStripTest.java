@@ -0,0 +1,90 @@
+package com.pi4j.catalog.components;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.plugin.mock.provider.spi.MockSpi;
+
+import com.pi4j.catalog.ComponentTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Apa102LedStripTest extends ComponentTest {
+
+    private Apa102LedStrip strip;
+    private MockSpi spi;
+    private final int pixels = 20;
+
+    @BeforeEach
+    public void setUp() {
+        strip = new Apa102LedStrip(pi4j, pixels);
+        spi = strip.mock();
+        //discard the startup blinking
+        spi.readEntireMockBuffer();
+    }
+
+    @Test
+    public void testColorsAreNotScaled() {
+        //when
+        strip.setMaxBrightness(0.5);
+        strip.setPixelColor(0, LedStrip.LedColor.WHITE);
+
+        //then
+        assertEquals(LedStrip.LedColor.WHITE, strip.getPixelColor(0));
+        assertEquals(16, strip.globalBrightness());
+    }
+
+    @Test
+    public void testRenderFrame() {
+        //given
+        strip.setMaxBrightness(1.0);
+        strip.allOff();
+        strip.setPixelColor(0, LedStrip.LedColor.createColorRGB(1, 2, 3));
+        strip.setPixelColor(pixels - 1, LedStrip.LedColor.ORANGE);
+
+        //when
+        strip.render(Duration.ZERO);
+        byte[] frame = spi.readEntireMockBuffer();
+
+        //then
+        assertEquals(4 + 4 * pixels + 4 + 2, frame.length);
+        assertArrayEquals(new byte[]{0, 0, 0, 0}, Arrays.copyOfRange(frame, 0, 4));
+        assertArrayEquals(new byte[]{(byte) 0xFF, 3, 2, 1}, Arrays.copyOfRange(frame, 4, 8));
+        assertArrayEquals(new byte[]{(byte) 0xFF, 0, 0, 0}, Arrays.copyOfRange(frame, 8, 12));
+        assertArrayEquals(new byte[]{(byte) 0xFF, 0x00, (byte) 0xA5, (byte) 0xFF}, Arrays.copyOfRange(frame, 4 * pixels, 4 * pixels + 4));
+    }
+
+    @Test
+    public void testBrightnessChangeRerendersColors() {
+        //given
+        strip.setMaxBrightness(1.0);
+        strip.setStripColor(LedStrip.LedColor.RED);
+        strip.render(Duration.ZERO);
+        spi.readEntireMockBuffer();
+
+        //when
+        strip.setMaxBrightness(0.1);
+        strip.render(Duration.ZERO);
+        byte[] frame = spi.readEntireMockBuffer();
+
+        //then
+        assertEquals((byte) (0b1110_0000 | 4), frame[4]);
+        assertEquals((byte) 0xFF, frame[7]);
+    }
+
+    @Test
+    public void testUsableAsMatrix() {
+        //given
+        LedMatrix matrix = new LedMatrix(strip, 4, 5);
+
+        //when
+        matrix.setMatrixColor(LedStrip.LedColor.BLUE);
+
+        //then
+        assertEquals(LedStrip.LedColor.BLUE, strip.getPixelColor(7));
+        assertThrows(IllegalArgumentException.class, () -> new LedMatrix(strip, 3, 3));
+    }
+}
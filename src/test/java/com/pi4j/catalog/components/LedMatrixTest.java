@@ -0,0 +1,155 @@
+package com.pi4j.catalog.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.catalog.ComponentTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedMatrixTest extends ComponentTest {
+
+    private LedStrip strip;
+    private LedMatrix matrix;
+    private final int rows = 3;
+    private final int columns = 4;
+
+    @BeforeEach
+    public void setUp() {
+        strip = new LedStrip(pi4j, rows * columns, 1.0, 0);
+        matrix = new LedMatrix(strip, rows, columns);
+    }
+
+    @Test
+    public void testSerpentineMapping() {
+        //when
+        matrix.setPixelColor(0, 1, LedStrip.LedColor.RED);
+        matrix.setPixelColor(1, 1, LedStrip.LedColor.GREEN);
+        matrix.setPixelColor(2, 3, LedStrip.LedColor.BLUE);
+
+        //then
+        assertEquals(LedStrip.LedColor.RED, strip.getPixelColor(1));
+        //odd rows run backwards
+        assertEquals(LedStrip.LedColor.GREEN, strip.getPixelColor(6));
+        assertEquals(LedStrip.LedColor.BLUE, strip.getPixelColor(11));
+        assertEquals(LedStrip.LedColor.GREEN, matrix.getPixelColor(1, 1));
+    }
+
+    @Test
+    public void testRowAndColumnColor() {
+        //when
+        matrix.setRowColor(1, LedStrip.LedColor.RED);
+        matrix.setColumnColor(0, LedStrip.LedColor.BLUE);
+
+        //then
+        for (int col = 1; col < columns; col++) {
+            assertEquals(LedStrip.LedColor.RED, matrix.getPixelColor(1, col));
+        }
+        for (int row = 0; row < rows; row++) {
+            assertEquals(LedStrip.LedColor.BLUE, matrix.getPixelColor(row, 0));
+        }
+        assertEquals(0, matrix.getPixelColor(0, 1));
+        assertEquals(LedStrip.LedColor.BLUE, strip.getPixelColor(7));
+    }
+
+    @Test
+    public void testTopology() {
+        //given
+        LedMatrixTopology topology = LedMatrixTopology.newBuilder(2, 2)
+                .wiring(LedMatrixTopology.Wiring.ROWS_PROGRESSIVE)
+                .tiles(1, 3)
+                .build();
+        LedStrip tiledStrip = new LedStrip(pi4j, 12, 1.0, 1);
+
+        //when
+        LedMatrix tiledMatrix = new LedMatrix(tiledStrip, topology);
+        tiledMatrix.setPixelColor(1, 2, LedStrip.LedColor.RED);
+
+        //then
+        assertEquals(2, tiledMatrix.getRows());
+        assertEquals(6, tiledMatrix.getColumns());
+        assertEquals(LedStrip.LedColor.RED, tiledStrip.getPixelColor(6));
+    }
+
+    @Test
+    public void testDrawFrame() {
+        //given
+        int[] frame = new int[rows * columns];
+        for (int i = 0; i < frame.length; i++) {
+            frame[i] = LedStrip.LedColor.wheel(i * 20);
+        }
+
+        //when
+        matrix.drawFrame(frame);
+
+        //then
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                assertEquals(frame[row * columns + col], matrix.getPixelColor(row, col));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> matrix.drawFrame(new int[3]));
+    }
+
+    @Test
+    public void testDrawRasterIsClipped() {
+        //given
+        int[] raster = {
+                1, 2, 3,
+                4, 5, 6};
+
+        //when
+        matrix.drawRaster(-1, 2, raster, 3);
+
+        //then
+        assertEquals(4, matrix.getPixelColor(0, 2));
+        assertEquals(5, matrix.getPixelColor(0, 3));
+        assertEquals(0, matrix.getPixelColor(1, 2));
+
+        //when
+        matrix.drawRaster(2, 0, raster, 3, 0, 1, 2, 2);
+
+        //then
+        assertEquals(2, matrix.getPixelColor(2, 0));
+        assertEquals(3, matrix.getPixelColor(2, 1));
+        assertEquals(0, matrix.getPixelColor(2, 2));
+    }
+
+    @Test
+    public void testDrawSprite() {
+        //given
+        int[] sprite = {
+                0, LedStrip.LedColor.RED,
+                LedStrip.LedColor.RED, 0};
+        matrix.setMatrixColor(LedStrip.LedColor.BLUE);
+
+        //when
+        matrix.drawSprite(1, 1, sprite, 2, 0);
+
+        //then
+        assertEquals(LedStrip.LedColor.BLUE, matrix.getPixelColor(1, 1));
+        assertEquals(LedStrip.LedColor.RED, matrix.getPixelColor(1, 2));
+        assertEquals(LedStrip.LedColor.RED, matrix.getPixelColor(2, 1));
+        assertEquals(LedStrip.LedColor.BLUE, matrix.getPixelColor(2, 2));
+    }
+
+    @Test
+    public void testInvalidRaster() {
+        //given
+        int[] raster = {1, 2, 3};
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> matrix.drawRaster(0, 0, raster, 0));
+        assertThrows(IllegalArgumentException.class, () -> matrix.drawRaster(0, 0, raster, 2));
+        assertThrows(IllegalArgumentException.class, () -> matrix.drawRaster(0, 0, raster, 0, 0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> matrix.drawSprite(0, 0, raster, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> matrix.drawSprite(0, 0, raster, 2, 0));
+    }
+
+    @Test
+    public void testInvalidPosition() {
+        //then
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.setPixelColor(0, columns, LedStrip.LedColor.RED));
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.setRowColor(rows, LedStrip.LedColor.RED));
+    }
+}
@@ -0,0 +1,124 @@
+package com.pi4j.catalog.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.catalog.ComponentTest;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedMatrixTextTest extends ComponentTest {
+
+    private static final int RED = LedStrip.LedColor.RED;
+
+    private LedMatrix matrix;
+    private LedMatrixText text;
+
+    @BeforeEach
+    public void setUp() {
+        matrix = new LedMatrix(new LedStrip(pi4j, 7 * 8, 1.0, 0), 7, 8);
+        text = new LedMatrixText(matrix);
+        text.setColors(RED, 0);
+    }
+
+    @Test
+    public void testDrawText() {
+        //when
+        text.setMessage("I");
+        text.drawText(0, 0);
+
+        //then
+        assertEquals(6, text.getMessageColumns());
+        //'I' is a vertical bar in the middle with serifs on top and bottom
+        for (int row = 0; row < LedMatrixText.GLYPH_HEIGHT; row++) {
+            assertEquals(RED, matrix.getPixelColor(row, 2));
+        }
+        assertEquals(RED, matrix.getPixelColor(0, 1));
+        assertEquals(RED, matrix.getPixelColor(6, 3));
+        assertEquals(0, matrix.getPixelColor(3, 1));
+        assertEquals(0, matrix.getPixelColor(0, 0));
+    }
+
+    @Test
+    public void testMarquee() {
+        //given
+        text.setMessage("I");
+
+        //when
+        text.drawMarquee(0);
+
+        //then the marquee starts with an empty matrix
+        for (int col = 0; col < 8; col++) {
+            assertEquals(0, matrix.getPixelColor(3, col));
+        }
+
+        //when the message has moved in by 3 pixels
+        text.drawMarquee(3);
+
+        //then
+        assertEquals(RED, matrix.getPixelColor(3, 7));
+        assertEquals(0, matrix.getPixelColor(3, 6));
+
+        //when the message restarts
+        text.drawMarquee(3 + 8 + text.getMessageColumns());
+
+        //then
+        assertEquals(RED, matrix.getPixelColor(3, 7));
+    }
+
+    @Test
+    public void testMarqueeClearsRowsAroundText() {
+        //given
+        LedMatrix tallMatrix = new LedMatrix(new LedStrip(pi4j, 11 * 8, 1.0, 1), 11, 8);
+        LedMatrixText tallText = new LedMatrixText(tallMatrix);
+        tallText.setMessage("I");
+        tallMatrix.setMatrixColor(RED);
+
+        //when
+        tallText.drawMarquee(0);
+
+        //then
+        for (int row = 0; row < 11; row++) {
+            assertEquals(0, tallMatrix.getPixelColor(row, 0), "row " + row);
+        }
+    }
+
+    @Test
+    public void testStopMarqueeKeepsOtherAnimation() {
+        //given
+        text.setMessage("I");
+        FixedRateScheduler marquee = text.startMarquee(50);
+        FixedRateScheduler other = matrix.animate(50, frame -> {});
+
+        //when
+        text.stopMarquee();
+
+        //then
+        assertFalse(marquee.isRunning());
+        assertTrue(other.isRunning());
+        matrix.stopAnimation();
+        assertFalse(other.isRunning());
+    }
+
+    @Test
+    public void testUnknownCharacter() {
+        //when
+        text.setMessage("ä");
+        int[] unknown = drawn();
+        text.setMessage("?");
+
+        //then
+        assertArrayEquals(drawn(), unknown);
+    }
+
+    private int[] drawn() {
+        matrix.allOff();
+        text.drawText(0, 0);
+        int[] pixels = new int[7 * 8];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = matrix.getPixelColor(i / 8, i % 8);
+        }
+        return pixels;
+    }
+}
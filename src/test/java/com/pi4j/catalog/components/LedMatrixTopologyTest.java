@@ -0,0 +1,96 @@
+package com.pi4j.catalog.components;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedMatrixTopologyTest {
+
+    @Test
+    public void testSerpentine() {
+        //when
+        LedMatrixTopology topology = LedMatrixTopology.serpentine(3, 4);
+
+        //then
+        assertEquals(3, topology.getRows());
+        assertEquals(4, topology.getColumns());
+        assertArrayEquals(new int[]{
+                0,  1,  2,  3,
+                7,  6,  5,  4,
+                8,  9, 10, 11}, topology.positions());
+    }
+
+    @Test
+    public void testColumnWiring() {
+        //when
+        LedMatrixTopology topology = LedMatrixTopology.newBuilder(2, 3)
+                .wiring(LedMatrixTopology.Wiring.COLUMNS_SERPENTINE)
+                .build();
+
+        //then
+        assertArrayEquals(new int[]{
+                0, 3, 4,
+                1, 2, 5}, topology.positions());
+    }
+
+    @Test
+    public void testTiledPanels() {
+        //when
+        LedMatrixTopology topology = LedMatrixTopology.newBuilder(2, 3)
+                .wiring(LedMatrixTopology.Wiring.ROWS_PROGRESSIVE)
+                .tiles(1, 2)
+                .panel(0, 1)
+                .panel(0, 0, LedMatrixTopology.Rotation.CLOCKWISE_180, false, false)
+                .build();
+
+        //then
+        assertEquals(2, topology.getRows());
+        assertEquals(6, topology.getColumns());
+        assertArrayEquals(new int[]{
+                11, 10, 9, 0, 1, 2,
+                 8,  7, 6, 3, 4, 5}, topology.positions());
+    }
+
+    @Test
+    public void testRotationAndFlip() {
+        //when
+        LedMatrixTopology rotated = LedMatrixTopology.newBuilder(2, 3)
+                .wiring(LedMatrixTopology.Wiring.ROWS_PROGRESSIVE)
+                .panel(0, 0, LedMatrixTopology.Rotation.CLOCKWISE_90, false, false)
+                .build();
+        LedMatrixTopology flipped = LedMatrixTopology.newBuilder(2, 3)
+                .wiring(LedMatrixTopology.Wiring.ROWS_PROGRESSIVE)
+                .panel(0, 0, LedMatrixTopology.Rotation.NONE, true, false)
+                .build();
+
+        //then
+        assertEquals(3, rotated.getRows());
+        assertEquals(2, rotated.getColumns());
+        assertArrayEquals(new int[]{
+                3, 0,
+                4, 1,
+                5, 2}, rotated.positions());
+        assertArrayEquals(new int[]{
+                2, 1, 0,
+                5, 4, 3}, flipped.positions());
+    }
+
+    @Test
+    public void testInvalidTopology() {
+        //then
+        assertThrows(IllegalArgumentException.class, () -> LedMatrixTopology.newBuilder(2, 3)
+                .tiles(1, 2)
+                .panel(0, 0)
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> LedMatrixTopology.newBuilder(2, 3)
+                .tiles(1, 2)
+                .panel(0, 0)
+                .panel(0, 0)
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> LedMatrixTopology.newBuilder(2, 3)
+                .tiles(1, 2)
+                .panel(0, 0)
+                .panel(0, 1, LedMatrixTopology.Rotation.CLOCKWISE_90, false, false)
+                .build());
+    }
+}
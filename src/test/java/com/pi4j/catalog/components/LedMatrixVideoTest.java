@@ -0,0 +1,107 @@
+package com.pi4j.catalog.components;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pi4j.catalog.ComponentTest;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
+
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedMatrixVideoTest extends ComponentTest {
+
+    private LedMatrix matrix;
+    private LedMatrixVideo video;
+
+    @BeforeEach
+    public void setUp() {
+        matrix = new LedMatrix(new LedStrip(pi4j, 4, 1.0, 0), 2, 2);
+        video = new LedMatrixVideo(matrix, 4, 4);
+    }
+
+    @Test
+    public void testAreaAverage() {
+        //given
+        byte[] rgb = new byte[4 * 4 * 3];
+        // top left quadrant: two red pixels and two black ones
+        setPixel(rgb, 0, 0, 200, 0, 0);
+        setPixel(rgb, 1, 1, 200, 0, 0);
+        // bottom right quadrant: all blue
+        for (int y = 2; y < 4; y++) {
+            for (int x = 2; x < 4; x++) {
+                setPixel(rgb, x, y, 0, 0, 255);
+            }
+        }
+
+        //when
+        video.drawFrame(ByteBuffer.wrap(rgb));
+
+        //then
+        assertEquals(LedStrip.LedColor.createColorRGB(100, 0, 0), matrix.getPixelColor(0, 0));
+        assertEquals(0, matrix.getPixelColor(0, 1));
+        assertEquals(LedStrip.LedColor.BLUE, matrix.getPixelColor(1, 1));
+    }
+
+    @Test
+    public void testPlayFile() throws IOException, InterruptedException {
+        //given
+        Path file = Files.createTempFile("video", ".rgb");
+        int frameSize = 4 * 4 * 3;
+        byte[] rgb = new byte[3 * frameSize];
+        for (int i = 0; i < frameSize; i += 3) {
+            rgb[i] = (byte) 255;                      // first frame red
+            rgb[frameSize + i + 1] = (byte) 255;      // second frame green
+            rgb[2 * frameSize + i + 2] = (byte) 255;  // third frame blue
+        }
+        Files.write(file, rgb);
+
+        try {
+            //when
+            video.play(file, 50);
+            for (int i = 0; i < 100 && video.isPlaying(); i++) {
+                sleep(10);
+            }
+
+            //then
+            assertFalse(video.isPlaying());
+            assertEquals(LedStrip.LedColor.BLUE, matrix.getPixelColor(1, 1));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testStopLeavesOtherAnimationRunning() throws IOException {
+        //given
+        Path file = Files.createTempFile("video", ".rgb");
+        Files.write(file, new byte[100 * 4 * 4 * 3]);
+
+        try {
+            video.play(file, 50);
+            FixedRateScheduler other = matrix.animate(50, (frame) -> {});
+
+            //when
+            video.stop();
+
+            //then
+            assertTrue(other.isRunning());
+            matrix.stopAnimation();
+            assertFalse(other.isRunning());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private void setPixel(byte[] rgb, int x, int y, int red, int green, int blue) {
+        int index = (y * 4 + x) * 3;
+        rgb[index] = (byte) red;
+        rgb[index + 1] = (byte) green;
+        rgb[index + 2] = (byte) blue;
+    }
+}
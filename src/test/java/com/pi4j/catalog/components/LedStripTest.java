@@ -1,23 +1,39 @@
 package com.pi4j.catalog.components;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import com.pi4j.plugin.mock.provider.spi.MockSpi;
 
 import com.pi4j.catalog.ComponentTest;
+import com.pi4j.catalog.components.helpers.FixedRateScheduler;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class LedStripTest extends ComponentTest {
 
     private LedStrip strip;
+    private MockSpi spi;
     private int pixels;
 
     @BeforeEach
     public void setUp() {
         pixels = 10;
         strip = new LedStrip(pi4j, pixels);
+        spi = strip.mock();
+        //discard the startup blinking
+        spi.readEntireMockBuffer();
     }
 
 
@@ -79,4 +95,319 @@ public class LedStripTest extends ComponentTest {
         assertEquals(255, LedStrip.LedColor.getGreenComponent(white));
         assertEquals(255, LedStrip.LedColor.getBlueComponent(white));
     }
+
+    @Test
+    public void testRenderEncoding() {
+        //given
+        strip.setMaxBrightness(1.0);
+        for (int i = 0; i < pixels; i++) {
+            strip.setPixelColor(i, LedStrip.LedColor.wheel(i * 25));
+        }
+
+        //when
+        strip.render(Duration.ZERO);
+
+        //then
+        byte[] expected = new byte[3 * 8 * pixels + 2];
+        int counter = 1;
+        for (int i = 0; i < pixels; i++) {
+            int color = strip.getPixelColor(i);
+            for (int bit : new int[]{15, 14, 13, 12, 11, 10, 9, 8, 23, 22, 21, 20, 19, 18, 17, 16, 7, 6, 5, 4, 3, 2, 1, 0}) {
+                expected[counter++] = ((color >> bit) & 1) == 1 ? (byte) 0b11111000 : (byte) 0b11000000;
+            }
+        }
+        assertArrayEquals(expected, spi.readEntireMockBuffer());
+    }
+
+    @Test
+    public void testRenderSkipsUnchangedFrames() {
+        //given
+        strip.setStripColor(LedStrip.LedColor.RED);
+        strip.render(Duration.ZERO);
+        spi.readEntireMockBuffer();
+
+        //when
+        strip.render(Duration.ZERO);
+
+        //then
+        assertEquals(0, spi.readEntireMockBuffer().length);
+
+        //when
+        strip.setPixelColor(3, LedStrip.LedColor.BLUE);
+        strip.render(Duration.ZERO);
+
+        //then
+        assertEquals(3 * 8 * pixels + 2, spi.readEntireMockBuffer().length);
+    }
+
+    @Test
+    public void testForceRefresh() {
+        //given
+        strip.render(Duration.ZERO);
+        spi.readEntireMockBuffer();
+
+        //when
+        strip.render(Duration.ZERO, true);
+
+        //then
+        assertEquals(3 * 8 * pixels + 2, spi.readEntireMockBuffer().length);
+    }
+
+    @Test
+    public void testAnimate() throws InterruptedException {
+        //given
+        strip.setMaxBrightness(1.0);
+
+        //when
+        FixedRateScheduler animation = strip.animate(50, (frame) -> strip.setStripColor(LedStrip.LedColor.wheel((int) (frame % 256))));
+        sleep(200);
+        strip.stopAnimation();
+
+        //then
+        assertFalse(animation.isRunning());
+        assertTrue(animation.getCycles() > 0);
+        assertEquals(animation.getCycles() * (3 * 8 * pixels + 2), spi.readEntireMockBuffer().length);
+    }
+
+    @Test
+    public void testAsyncRendering() {
+        //given
+        strip.setMaxBrightness(1.0);
+        int frameSize = 3 * 8 * pixels + 2;
+        strip.startAsyncRendering();
+
+        //when
+        for (int frame = 0; frame < 100; frame++) {
+            strip.setStripColor(LedStrip.LedColor.wheel(frame));
+            strip.render(Duration.ZERO);
+        }
+        strip.stopAsyncRendering();
+        byte[] raw = spi.readEntireMockBuffer();
+
+        //then
+        assertFalse(strip.isAsyncRendering());
+        assertEquals(100, strip.getPublishedFrames());
+        assertEquals(strip.getPublishedFrames(), strip.getRenderedFrames() + strip.getDroppedFrames());
+        assertEquals(strip.getRenderedFrames() * frameSize, raw.length);
+
+        //the newest frame is never dropped
+        byte[] lastFrame = new byte[frameSize];
+        System.arraycopy(raw, raw.length - frameSize, lastFrame, 0, frameSize);
+        int[] decoded = decode(lastFrame, 8, LedStrip.Encoding.BYTE_PER_BIT.getSpiClock());
+        for (int i = 0; i < pixels; i++) {
+            assertEquals(LedStrip.LedColor.wheel(99), decoded[i]);
+        }
+    }
+
+    @Test
+    public void testRenderWhileStoppingAsyncRendering() throws InterruptedException {
+        //given
+        int longStripPixels = 300;
+        int frameSize = 3 * 8 * longStripPixels + 2;
+        LedStrip longStrip = new LedStrip(pi4j, longStripPixels, 1.0, 1);
+        MockSpi longSpi = longStrip.mock();
+        longSpi.readEntireMockBuffer();
+        AtomicBoolean rendering = new AtomicBoolean(true);
+        Thread renderLoop = new Thread(() -> {
+            for (int frame = 0; rendering.get(); frame++) {
+                longStrip.setStripColor(LedStrip.LedColor.wheel(frame));
+                longStrip.render(Duration.ZERO);
+            }
+        });
+
+        //when
+        renderLoop.start();
+        for (int i = 0; i < 20; i++) {
+            longStrip.startAsyncRendering();
+            sleep(2);
+            longStrip.stopAsyncRendering();
+        }
+        rendering.set(false);
+        renderLoop.join();
+        byte[] raw = longSpi.readEntireMockBuffer();
+
+        //then no frame is torn by two threads encoding it
+        assertFalse(longStrip.isAsyncRendering());
+        assertEquals(0, raw.length % frameSize);
+        int pixelSize = 3 * 8;
+        for (int frame = 1; frame < raw.length; frame += frameSize) {
+            // behind the leading reset byte, all pixels of a frame have the same color
+            for (int i = 1; i < longStripPixels; i++) {
+                int pixel = frame + i * pixelSize;
+                assertTrue(Arrays.equals(raw, frame, frame + pixelSize, raw, pixel, pixel + pixelSize),
+                        "torn frame at " + (frame - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testRecordAndReplay() throws IOException, InterruptedException {
+        //given
+        Path file = Files.createTempFile("animation", ".leds");
+        int frames = 5;
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int frame = 0; frame < frames; frame++) {
+            strip.setStripColor(LedStrip.LedColor.wheel(frame * 50));
+            strip.render(Duration.ZERO, true);
+            expected.writeBytes(spi.readEntireMockBuffer());
+        }
+
+        try {
+            //when
+            strip.recordAnimation(file, frames, (frame) -> strip.setStripColor(LedStrip.LedColor.wheel((int) frame * 50)));
+
+            //then
+            assertEquals(0, spi.readEntireMockBuffer().length);
+            assertEquals(8 + frames * (3 * 8 * pixels + 2), Files.size(file));
+
+            //when
+            FixedRateScheduler replay = strip.replay(file, 100, false);
+            for (int i = 0; i < 100 && replay.isRunning(); i++) {
+                sleep(10);
+            }
+
+            //then
+            assertFalse(replay.isRunning());
+            assertArrayEquals(expected.toByteArray(), spi.readEntireMockBuffer());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testReplayRejectsRecordingOfOtherStrip() throws IOException {
+        //given
+        Path file = Files.createTempFile("animation", ".leds");
+        LedStrip otherStrip = new LedStrip(pi4j, pixels + 1, 0.2, 1);
+
+        try {
+            //when
+            otherStrip.recordAnimation(file, 1, (frame) -> otherStrip.setStripColor(LedStrip.LedColor.RED));
+
+            //then
+            assertThrows(IllegalArgumentException.class, () -> strip.replay(file, 30, true));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testBrightness() {
+        //when
+        strip.setMaxBrightness(0.5);
+        strip.setPixelColor(0, LedStrip.LedColor.WHITE);
+
+        //then
+        assertEquals(LedStrip.LedColor.scaleColorToBrightness(LedStrip.LedColor.WHITE, 0.5), strip.getPixelColor(0));
+        assertEquals(LedStrip.LedColor.createColorRGB(127, 127, 127), strip.getPixelColor(0));
+    }
+
+    @Test
+    public void testGammaCorrection() {
+        //given
+        strip.setMaxBrightness(1.0);
+
+        //when
+        strip.setGammaCorrection(true);
+        strip.setPixelColor(0, LedStrip.LedColor.WHITE);
+        strip.setPixelColor(1, LedStrip.LedColor.createColorRGB(128, 64, 0));
+
+        //then
+        assertTrue(strip.isGammaCorrection());
+        assertEquals(LedStrip.LedColor.WHITE, strip.getPixelColor(0));
+        assertTrue(LedStrip.LedColor.getRedComponent(strip.getPixelColor(1)) < 128);
+        assertTrue(LedStrip.LedColor.getGreenComponent(strip.getPixelColor(1)) < 64);
+
+        //when
+        strip.setGammaCorrection(false);
+        strip.setPixelColor(1, LedStrip.LedColor.createColorRGB(128, 64, 0));
+
+        //then
+        assertEquals(LedStrip.LedColor.createColorRGB(128, 64, 0), strip.getPixelColor(1));
+    }
+
+    @Test
+    public void testBulkOperations() {
+        //given
+        strip.setMaxBrightness(1.0);
+        strip.allOff();
+
+        //when
+        strip.setPixelColors(2, new int[]{LedStrip.LedColor.RED, LedStrip.LedColor.GREEN, LedStrip.LedColor.BLUE}, 1, 2);
+        strip.fillPixels(5, 7, LedStrip.LedColor.WHITE);
+
+        //then
+        assertEquals(0, strip.getPixelColor(1));
+        assertEquals(LedStrip.LedColor.GREEN, strip.getPixelColor(2));
+        assertEquals(LedStrip.LedColor.BLUE, strip.getPixelColor(3));
+        assertEquals(0, strip.getPixelColor(4));
+        assertEquals(LedStrip.LedColor.WHITE, strip.getPixelColor(5));
+        assertEquals(LedStrip.LedColor.WHITE, strip.getPixelColor(6));
+        assertEquals(0, strip.getPixelColor(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> strip.fillPixels(5, pixels + 1, LedStrip.LedColor.RED));
+
+        //when
+        strip.rotate(-3);
+
+        //then
+        assertEquals(LedStrip.LedColor.BLUE, strip.getPixelColor(0));
+        assertEquals(LedStrip.LedColor.WHITE, strip.getPixelColor(3));
+        assertEquals(LedStrip.LedColor.GREEN, strip.getPixelColor(pixels - 1));
+
+        //when
+        strip.shift(2, LedStrip.LedColor.RED);
+
+        //then
+        assertEquals(LedStrip.LedColor.RED, strip.getPixelColor(0));
+        assertEquals(LedStrip.LedColor.RED, strip.getPixelColor(1));
+        assertEquals(LedStrip.LedColor.BLUE, strip.getPixelColor(2));
+        assertEquals(LedStrip.LedColor.WHITE, strip.getPixelColor(5));
+    }
+
+    @ParameterizedTest
+    @EnumSource(LedStrip.Encoding.class)
+    public void testEncodingsDecodeToPixelColors(LedStrip.Encoding encoding) {
+        //given
+        LedStrip encodedStrip = new LedStrip(pi4j, pixels, 1.0, 1, encoding);
+        MockSpi encodedSpi = encodedStrip.mock();
+        encodedSpi.readEntireMockBuffer();
+        for (int i = 0; i < pixels; i++) {
+            encodedStrip.setPixelColor(i, LedStrip.LedColor.wheel(i * 25));
+        }
+
+        //when
+        encodedStrip.render(Duration.ZERO);
+        byte[] raw = encodedSpi.readEntireMockBuffer();
+
+        //then
+        assertEquals(encoding.getSpiClock(), encodedSpi.config().baud());
+        assertEquals(3 * encoding.getSpiBitsPerBit() * pixels + 2, raw.length);
+        int[] decoded = decode(raw, encoding.getSpiBitsPerBit(), encoding.getSpiClock());
+        for (int i = 0; i < pixels; i++) {
+            assertEquals(encodedStrip.getPixelColor(i), decoded[i], "pixel " + i);
+        }
+    }
+
+    /**
+     * Converts the SPI data back to RGB colors, the way a WS2812 reads them: a high pulse of at most 550ns is a 0, of at
+     * least 650ns a 1.
+     */
+    private int[] decode(byte[] raw, int spiBitsPerBit, int spiClock) {
+        int[] colors = new int[pixels];
+        int spiBit = 8; //skipping the reset byte
+        for (int i = 0; i < pixels; i++) {
+            int grb = 0;
+            for (int bit = 0; bit < 24; bit++) {
+                int highBits = 0;
+                for (int j = 0; j < spiBitsPerBit; j++, spiBit++) {
+                    highBits += (raw[spiBit / 8] >> (7 - spiBit % 8)) & 1;
+                }
+                long highNanos = highBits * 1_000_000_000L / spiClock;
+                assertTrue(highNanos <= 550 || highNanos >= 650, "ambiguous high pulse of " + highNanos + "ns");
+                grb = (grb << 1) | (highNanos >= 650 ? 1 : 0);
+            }
+            colors[i] = (grb & 0x00FF00) << 8 | (grb & 0xFF0000) >> 8 | (grb & 0x0000FF);
+        }
+        return colors;
+    }
 }
@@ -0,0 +1,132 @@
+package com.pi4j.catalog.components.helpers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedRateSchedulerTest {
+
+    @Test
+    public void testRunsAtFixedRate() throws InterruptedException {
+        //given
+        AtomicLong lastCycle = new AtomicLong(-1);
+        FixedRateScheduler scheduler = new FixedRateScheduler("test", Duration.ofMillis(10), lastCycle::set);
+
+        //when
+        scheduler.start();
+        sleep(300);
+        scheduler.stop();
+
+        //then
+        assertFalse(scheduler.isRunning());
+        assertTrue(scheduler.getCycles() >= 10);
+        assertEquals(scheduler.getCycles() + scheduler.getDroppedCycles() - 1, lastCycle.get());
+        assertTrue(scheduler.getMeasuredRate() > 0);
+        assertTrue(scheduler.getCycleTimePercentile(50).compareTo(scheduler.getCycleTimePercentile(100)) <= 0);
+        assertTrue(scheduler.getJitterPercentile(50).compareTo(scheduler.getJitterPercentile(100)) <= 0);
+        assertFalse(scheduler.getJitterPercentile(0).isNegative());
+    }
+
+    @Test
+    public void testDropsFramesOfSlowTask() throws InterruptedException {
+        //given
+        FixedRateScheduler scheduler = new FixedRateScheduler("test", Duration.ofMillis(10), (cycle) -> {
+            try {
+                sleep(35);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        //when
+        scheduler.start();
+        sleep(300);
+        scheduler.stop();
+
+        //then
+        assertTrue(scheduler.getLateCycles() > 0);
+        assertTrue(scheduler.getDroppedCycles() > 0);
+        assertTrue(scheduler.getCycleTimePercentile(50).toMillis() >= 35);
+        assertTrue(scheduler.getJitterPercentile(100).toMillis() >= 5);
+    }
+
+    @Test
+    public void testChangePeriodWhileRunning() throws InterruptedException {
+        //given
+        AtomicLong lastCycle = new AtomicLong(-1);
+        FixedRateScheduler scheduler = new FixedRateScheduler("test", Duration.ofMillis(50), lastCycle::set);
+        scheduler.start();
+        sleep(120);
+        long cyclesBefore = scheduler.getCycles();
+
+        //when
+        scheduler.setPeriod(Duration.ofMillis(10));
+        sleep(200);
+        scheduler.stop();
+
+        //then
+        assertEquals(Duration.ofMillis(10), scheduler.getPeriod());
+        assertTrue(scheduler.getCycles() - cyclesBefore >= 12);
+        assertEquals(scheduler.getCycles() + scheduler.getDroppedCycles() - 1, lastCycle.get());
+        assertThrows(IllegalArgumentException.class, () -> scheduler.setPeriod(Duration.ZERO));
+    }
+
+    @Test
+    public void testStopWaitsForCycleInProgress() throws InterruptedException {
+        //given
+        AtomicLong finishedCycles = new AtomicLong();
+        FixedRateScheduler scheduler = new FixedRateScheduler("test", Duration.ofMillis(10), (cycle) -> {
+            long end = System.nanoTime() + 1_500_000_000L;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+            finishedCycles.incrementAndGet();
+        });
+        scheduler.start();
+        sleep(50);
+
+        //when
+        scheduler.stop();
+
+        //then
+        assertEquals(1, finishedCycles.get());
+        assertFalse(scheduler.isRunning());
+    }
+
+    @Test
+    public void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> new FixedRateScheduler("test", Duration.ZERO, (cycle) -> {}));
+    }
+
+    @Test
+    public void testInvalidFrequency() {
+        assertThrows(IllegalArgumentException.class, () -> new FixedRateScheduler("test", 0.0, (cycle) -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new FixedRateScheduler("test", Double.NaN, (cycle) -> {}));
+    }
+
+    @Test
+    public void testErrorEndsScheduler() throws InterruptedException {
+        //given
+        FixedRateScheduler scheduler = new FixedRateScheduler("test", Duration.ofMillis(10), (cycle) -> {
+            if (cycle == 2) {
+                throw new AssertionError("failing cycle");
+            }
+        });
+
+        //when
+        scheduler.start();
+        for (int i = 0; i < 100 && scheduler.isRunning(); i++) {
+            sleep(10);
+        }
+
+        //then
+        assertFalse(scheduler.isRunning());
+        scheduler.start();
+        assertTrue(scheduler.isRunning());
+        scheduler.stop();
+    }
+}
@@ -0,0 +1,99 @@
+package com.pi4j.catalog.components.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SampleRingBufferTest {
+
+    @Test
+    public void testCapacityIsRoundedUp() {
+        assertEquals(1, new SampleRingBuffer(1).getCapacity());
+        assertEquals(8, new SampleRingBuffer(5).getCapacity());
+        assertEquals(8, new SampleRingBuffer(8).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new SampleRingBuffer(0));
+    }
+
+    @Test
+    public void testDrainInBatches() {
+        //given
+        SampleRingBuffer buffer = new SampleRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(100 + i, (short) -i);
+        }
+        long[] nanoTimes = new long[4];
+        short[] rawValues = new short[4];
+
+        //when
+        int first = buffer.drainTo(nanoTimes, rawValues, 1, 3);
+
+        //then
+        assertEquals(3, first);
+        assertEquals(2, buffer.size());
+        assertArrayEquals(new long[]{0, 100, 101, 102}, nanoTimes);
+        assertArrayEquals(new short[]{0, 0, -1, -2}, rawValues);
+
+        //when
+        int second = buffer.drainTo(nanoTimes, rawValues, 0, 4);
+
+        //then
+        assertEquals(2, second);
+        assertEquals(103, nanoTimes[0]);
+        assertEquals(-4, rawValues[1]);
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.drainTo(nanoTimes, rawValues, 0, 4));
+    }
+
+    @Test
+    public void testOverflow() {
+        //given
+        SampleRingBuffer buffer = new SampleRingBuffer(4);
+
+        //when
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i, (short) i);
+        }
+
+        //then
+        assertEquals(4, buffer.size());
+        assertEquals(2, buffer.getOverflows());
+        short[] rawValues = new short[4];
+        buffer.drainTo(new long[4], rawValues, 0, 4);
+        // the newest samples are dropped, the buffered ones are kept
+        assertArrayEquals(new short[]{0, 1, 2, 3}, rawValues);
+        assertTrue(buffer.offer(6, (short) 6));
+    }
+
+    @Test
+    public void testConcurrentProducerAndConsumer() throws InterruptedException {
+        //given
+        final int samples = 200_000;
+        SampleRingBuffer buffer = new SampleRingBuffer(64);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < samples; i++) {
+                buffer.offer(i, (short) i);
+            }
+        });
+
+        //when
+        producer.start();
+        long[] nanoTimes = new long[16];
+        short[] rawValues = new short[16];
+        long received = 0;
+        long lastSample = -1;
+        boolean ordered = true;
+        while (producer.isAlive() || buffer.size() > 0) {
+            int count = buffer.drainTo(nanoTimes, rawValues, 0, 16);
+            for (int i = 0; i < count; i++) {
+                ordered &= nanoTimes[i] > lastSample && rawValues[i] == (short) nanoTimes[i];
+                lastSample = nanoTimes[i];
+            }
+            received += count;
+        }
+        producer.join();
+
+        //then
+        assertTrue(ordered);
+        assertEquals(samples, received + buffer.getOverflows());
+    }
+}